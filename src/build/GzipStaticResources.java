@@ -0,0 +1,69 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Chạy lúc build (exec-maven-plugin, pha process-resources): tạo bản .gz nén tối đa cạnh các file tĩnh dạng văn bản
+ * trong target/classes/static, để EncodedResourceResolver trả thẳng bản nén thay vì nén lại ở mỗi request.
+ * Cách dùng: java src/build/GzipStaticResources.java target/classes/static
+ */
+public class GzipStaticResources {
+
+    // Không nén sẵn CSS: CssLinkResourceTransformer bỏ qua bản .gz nên link trong CSS sẽ không được gắn version.
+    // woff/woff2/png/jpg đã được nén sẵn trong định dạng.
+    private static final Set<String> EXTENSIONS = Set.of("js", "svg", "eot", "ttf", "otf", "json", "map", "txt");
+
+    // Bản nén phải nhỏ hơn 90% bản gốc mới đáng giữ
+    private static final double MIN_RATIO = 0.9;
+
+    public static void main(String[] args) throws IOException {
+        Path root = Path.of(args[0]);
+        if (!Files.isDirectory(root)) return;
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).filter(GzipStaticResources::compressible).toList();
+        }
+
+        int written = 0;
+        for (Path file : files) {
+            Path gz = file.resolveSibling(file.getFileName() + ".gz");
+            if (Files.exists(gz) && Files.getLastModifiedTime(gz).compareTo(Files.getLastModifiedTime(file)) >= 0) continue;
+
+            byte[] original = Files.readAllBytes(file);
+            byte[] compressed = gzip(original);
+            if (compressed.length < original.length * MIN_RATIO) {
+                Files.write(gz, compressed);
+                written++;
+            } else {
+                Files.deleteIfExists(gz);
+            }
+        }
+        System.out.println("GzipStaticResources: " + written + " file .gz trong " + root);
+    }
+
+    private static boolean compressible(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 && EXTENSIONS.contains(name.substring(dot + 1).toLowerCase());
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 3);
+        try (OutputStream out = new GZIPOutputStream(bytes) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+}
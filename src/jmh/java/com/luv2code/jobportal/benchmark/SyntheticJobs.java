@@ -0,0 +1,83 @@
+package com.luv2code.jobportal.benchmark;
+
+import com.luv2code.jobportal.entity.IRecruiterJobs;
+import com.luv2code.jobportal.entity.JobListItem;
+import com.luv2code.jobportal.entity.JobType;
+import com.luv2code.jobportal.entity.RemoteType;
+import com.luv2code.jobportal.util.BlobRef;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dữ liệu giả cho benchmark. Seed cố định nên mỗi lần chạy nhận đúng cùng một bộ dữ liệu.
+ */
+public final class SyntheticJobs {
+
+    private static final String[] TITLES = {"Java Developer", "Kỹ sư Spring Boot", "Frontend React", "Tester", "DevOps",
+            "Business Analyst", "Data Engineer", "Nhân viên kinh doanh"};
+    private static final JobType[] TYPES = JobType.values();
+    private static final RemoteType[] REMOTES = RemoteType.values();
+    private static final String[] CITIES = {"Hà Nội", "Hồ Chí Minh", "Đà Nẵng", "Cần Thơ", "Hải Phòng"};
+
+    private SyntheticJobs() {
+    }
+
+    /**
+     * {@code count} job trong một trang danh sách, đăng trong 60 ngày gần đây; 1/4 số công ty không có logo.
+     */
+    public static List<JobListItem> listItems(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        long now = System.currentTimeMillis();
+        List<JobListItem> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int companyId = 1 + random.nextInt(Math.max(1, count / 4));
+            String logo = companyId % 4 == 0 ? null : blobRef(random, "logo-" + companyId + ".png");
+            jobs.add(new JobListItem(count - i, pick(random, TITLES) + " " + i, pick(random, TYPES), pick(random, REMOTES),
+                    (10 + random.nextInt(40)) + " triệu", new Date(now - TimeUnit.DAYS.toMillis(random.nextInt(60))),
+                    companyId, "Công ty " + companyId, logo, pick(random, CITIES), pick(random, CITIES), "Việt Nam"));
+        }
+        return jobs;
+    }
+
+    public static List<IRecruiterJobs> recruiterRows(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<IRecruiterJobs> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new RecruiterRow((long) random.nextInt(200), i + 1, pick(random, TITLES), 1 + random.nextInt(50),
+                    pick(random, CITIES), pick(random, CITIES), "Việt Nam", 1 + random.nextInt(100), "Công ty " + i));
+        }
+        return rows;
+    }
+
+    /**
+     * Id của {@code fraction} số job trong danh sách, ví dụ các job ứng viên đã ứng tuyển.
+     */
+    public static List<Integer> someIds(List<JobListItem> jobs, double fraction, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Integer> ids = new ArrayList<>();
+        for (JobListItem job : jobs) {
+            if (random.nextDouble() < fraction) ids.add(job.jobPostId());
+        }
+        return ids;
+    }
+
+    private static String blobRef(SplittableRandom random, String name) {
+        byte[] key = new byte[32];
+        for (int i = 0; i < key.length; i++) key[i] = (byte) random.nextInt(256);
+        return BlobRef.of(HexFormat.of().formatHex(key), name).toString();
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private record RecruiterRow(Long getTotalCandidates, int getJob_post_id, String getJob_title, int getLocationId,
+                                String getCity, String getState, String getCountry, int getCompanyId,
+                                String getName) implements IRecruiterJobs {
+    }
+}
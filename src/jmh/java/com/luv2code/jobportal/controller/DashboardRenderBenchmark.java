@@ -0,0 +1,119 @@
+package com.luv2code.jobportal.controller;
+
+import com.luv2code.jobportal.benchmark.SyntheticJobs;
+import com.luv2code.jobportal.entity.JobListItem;
+import com.luv2code.jobportal.entity.JobSeekerProfile;
+import com.luv2code.jobportal.services.files.LocalBlobStore;
+import com.luv2code.jobportal.services.files.ThumbnailService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.expression.DefaultWebSecurityExpressionHandler;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.extras.springsecurity6.dialect.SpringSecurityDialect;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.spring6.expression.ThymeleafEvaluationContext;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render dashboard.html cho ứng viên đã đăng nhập với 100/1k/10k job giả. Template được cache như khi chạy thật;
+ * không có ResourceUrlEncodingFilter nên link tĩnh không được gắn version.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardRenderBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int jobs;
+
+    private Path tempDir;
+    private GenericWebApplicationContext applicationContext;
+    private SpringTemplateEngine engine;
+    private WebContext context;
+
+    @Setup
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("jmh-dashboard");
+        MockServletContext servletContext = new MockServletContext();
+        applicationContext = new GenericWebApplicationContext(servletContext);
+        LocalBlobStore blobStore = new LocalBlobStore(tempDir.resolve("blobs").toString());
+        applicationContext.registerBean("thumbnails", ThumbnailService.class,
+                () -> new ThumbnailService(blobStore, tempDir.resolve("thumbs").toString(), "64,128,256"));
+        // sec:authorize cần một SecurityExpressionHandler trong context
+        applicationContext.registerBean(DefaultWebSecurityExpressionHandler.class);
+        applicationContext.refresh();
+        servletContext.setAttribute(WebApplicationContext.ROOT_WEB_APPLICATION_CONTEXT_ATTRIBUTE, applicationContext);
+
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setCharacterEncoding("UTF-8");
+        engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        engine.setEnableSpringELCompiler(true);
+        engine.addDialect(new SpringSecurityDialect());
+
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "seek@x.com", null, List.of(new SimpleGrantedAuthority("Job Seeker"))));
+
+        List<JobListItem> page = SyntheticJobs.listItems(jobs);
+        List<Integer> applied = SyntheticJobs.someIds(page, 0.1, 1);
+        List<Integer> saved = SyntheticJobs.someIds(page, 0.2, 2);
+        page = page.stream().map(job -> job.withFlags(applied.contains(job.jobPostId()), saved.contains(job.jobPostId()))).toList();
+
+        JobSeekerProfile user = new JobSeekerProfile();
+        user.setUserAccountId(2);
+        user.setFirstName("Nguyễn");
+        user.setLastName("An");
+
+        JakartaServletWebApplication application = JakartaServletWebApplication.buildApplication(servletContext);
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/dashboard/");
+        context = new WebContext(application.buildExchange(request, new MockHttpServletResponse()), Locale.ROOT);
+        context.setVariable(ThymeleafEvaluationContext.THYMELEAF_EVALUATION_CONTEXT_CONTEXT_VARIABLE_NAME,
+                new ThymeleafEvaluationContext(applicationContext, null));
+        context.setVariable("jobPost", page);
+        context.setVariable("daysAgoMap", JobPostActivityController.daysAgo(page));
+        context.setVariable("nextCursor", "eyJkIjoxLCJpIjoxfQ");
+        context.setVariable("user", user);
+        context.setVariable("username", "seek@x.com");
+        for (String flag : List.of("partTime", "fullTime", "freelance", "internship", "remoteOnly", "officeOnly",
+                "partialRemote", "today", "days7", "days30")) {
+            context.setVariable(flag, false);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        SecurityContextHolder.clearContext();
+        applicationContext.close();
+        try (var files = Files.walk(tempDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void render() {
+        // nullWriter: chỉ đo phần render, không đo việc gom chuỗi kết quả
+        engine.process("dashboard", context, Writer.nullWriter());
+    }
+}
@@ -0,0 +1,36 @@
+package com.luv2code.jobportal.controller;
+
+import com.luv2code.jobportal.benchmark.SyntheticJobs;
+import com.luv2code.jobportal.entity.JobListItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tính số ngày kể từ ngày đăng (daysAgoMap) cho trang dashboard/global-search.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobPostActivityControllerBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int jobs;
+
+    private List<JobListItem> page;
+
+    @Setup
+    public void setUp() {
+        page = SyntheticJobs.listItems(jobs);
+    }
+
+    @Benchmark
+    public Map<Integer, Long> daysAgo() {
+        return JobPostActivityController.daysAgo(page);
+    }
+}
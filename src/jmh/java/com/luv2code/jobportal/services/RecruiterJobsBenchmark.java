@@ -0,0 +1,36 @@
+package com.luv2code.jobportal.services;
+
+import com.luv2code.jobportal.benchmark.SyntheticJobs;
+import com.luv2code.jobportal.entity.IRecruiterJobs;
+import com.luv2code.jobportal.entity.RecruiterJobsDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map kết quả getRecruiterJobs sang DTO.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecruiterJobsBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int jobs;
+
+    private List<IRecruiterJobs> recruiterRows;
+
+    @Setup
+    public void setUp() {
+        recruiterRows = SyntheticJobs.recruiterRows(jobs);
+    }
+
+    @Benchmark
+    public List<RecruiterJobsDto> recruiterJobsMapping() {
+        return JobPostActivityService.toRecruiterJobs(recruiterRows);
+    }
+}
@@ -0,0 +1,40 @@
+package com.luv2code.jobportal.services;
+
+import com.luv2code.jobportal.benchmark.SyntheticJobs;
+import com.luv2code.jobportal.entity.JobListItem;
+import com.luv2code.jobportal.util.IntHashSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gắn cờ đã ứng tuyển/đã lưu cho trang kết quả (vòng lặp trong JobPostActivityController.searchJobs).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeekerInteractionBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int jobs;
+
+    private List<JobListItem> page;
+    private SeekerInteractionService.Interactions interactions;
+
+    @Setup
+    public void setUp() {
+        page = SyntheticJobs.listItems(jobs);
+        interactions = new SeekerInteractionService.Interactions(
+                IntHashSet.of(SyntheticJobs.someIds(page, 0.1, 1)),
+                IntHashSet.of(SyntheticJobs.someIds(page, 0.2, 2)));
+    }
+
+    @Benchmark
+    public List<JobListItem> withFlags() {
+        return interactions.withFlags(page);
+    }
+}
@@ -0,0 +1,86 @@
+package com.luv2code.jobportal.services.matching;
+
+import com.luv2code.jobportal.entity.JobPostActivity;
+import com.luv2code.jobportal.entity.JobSeekerProfile;
+import com.luv2code.jobportal.entity.Skills;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Truy vấn top-k của {@link MatchIndex} ở quy mô 100k job x 1M ứng viên (dữ liệu giả, skill phân bố lệch:
+ * vài skill phổ biến có trong hàng trăm nghìn hồ sơ). Cần heap lớn: chạy với -Djmh.args="MatchIndex".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class MatchIndexBenchmark {
+
+    private static final String[] COMMON = {"Java", "SQL", "Git", "Excel", "Docker", "React", "Spring Boot", "Python"};
+    private static final String[] LEVELS = {"Beginner", "Intermediate", "Advance"};
+    private static final String[] CERTIFICATES = {"Cao đẳng", "Đại học", "Thạc sĩ", null};
+
+    @Param({"100000"})
+    int jobs;
+
+    @Param({"1000000"})
+    int seekers;
+
+    private MatchIndex index;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new MatchIndex(null, null);
+        SplittableRandom data = new SplittableRandom(42);
+        for (int id = 1; id <= seekers; id++) {
+            JobSeekerProfile profile = new JobSeekerProfile();
+            profile.setUserAccountId(id);
+            profile.setExperience(data.nextInt(10) + " năm");
+            profile.setCertificate(CERTIFICATES[data.nextInt(CERTIFICATES.length)]);
+            List<Skills> skills = new ArrayList<>();
+            int count = 3 + data.nextInt(6);
+            for (int i = 0; i < count; i++) {
+                skills.add(new Skills(null, skill(data), LEVELS[data.nextInt(LEVELS.length)],
+                        String.valueOf(data.nextInt(8)), profile));
+            }
+            profile.setSkills(skills);
+            index.index(profile);
+        }
+        for (int id = 1; id <= jobs; id++) {
+            JobPostActivity job = new JobPostActivity();
+            job.setJobPostId(id);
+            job.setJobTitle(skill(data) + " Developer");
+            job.setField("Software");
+            StringBuilder description = new StringBuilder("<p>Yêu cầu: ");
+            for (int i = 0; i < 15; i++) description.append(skill(data)).append(", ");
+            description.append("làm việc nhóm, tiếng Anh giao tiếp.</p>");
+            job.setDescriptionOfJob(description.toString());
+            job.setExperienceRequired(data.nextInt(6));
+            job.setCertificateRequired(CERTIFICATES[data.nextInt(CERTIFICATES.length)]);
+            index.index(job);
+        }
+        random = new SplittableRandom(7);
+    }
+
+    // một nửa là skill phổ biến, còn lại rải đều trên 2000 skill hiếm
+    private static String skill(SplittableRandom random) {
+        return random.nextBoolean() ? COMMON[random.nextInt(COMMON.length)] : "skill" + random.nextInt(2000);
+    }
+
+    @Benchmark
+    public List<Match> recommendJobs() {
+        return index.recommendJobs(1 + random.nextInt(seekers), 10);
+    }
+
+    @Benchmark
+    public List<Match> topCandidates() {
+        return index.topCandidates(1 + random.nextInt(jobs), 10);
+    }
+}
@@ -0,0 +1,69 @@
+package com.luv2code.jobportal.services.search;
+
+import com.luv2code.jobportal.entity.JobPostActivity;
+import com.luv2code.jobportal.entity.JobType;
+import com.luv2code.jobportal.entity.RemoteType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trang đầu của tìm kiếm chỉ có bộ lọc (loại hình, remote, ngày đăng) và số job của các ô lọc, ở hai cỡ bảng
+ * khác nhau 100 lần. Job đăng rải đều trong 2 năm. Chạy với -Djmh.args="JobSearchIndex".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class JobSearchIndexBenchmark {
+
+    private static final String[] TITLES = {"Java Developer", "Kế toán", "Tester", "DevOps", "Nhân viên kinh doanh"};
+    private static final JobType[] TYPES = JobType.values();
+    private static final RemoteType[] REMOTES = RemoteType.values();
+    private static final int DAYS = 730;
+
+    @Param({"10000", "1000000"})
+    int jobs;
+
+    private JobSearchIndex index;
+    private final List<JobType> oneType = List.of(JobType.FULL_TIME);
+    private final List<RemoteType> twoRemotes = List.of(RemoteType.REMOTE_ONLY, RemoteType.PARTIAL_REMOTE);
+    private final LocalDate weekAgo = LocalDate.now().minusDays(7);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new JobSearchIndex(null);
+        SplittableRandom random = new SplittableRandom(42);
+        long now = System.currentTimeMillis();
+        for (int id = 1; id <= jobs; id++) {
+            JobPostActivity job = new JobPostActivity();
+            job.setJobPostId(id);
+            job.setJobTitle(TITLES[random.nextInt(TITLES.length)]);
+            job.setJobType(TYPES[random.nextInt(TYPES.length)]);
+            job.setRemote(REMOTES[random.nextInt(REMOTES.length)]);
+            job.setPostedDate(new Date(now - (long) random.nextInt(DAYS * 24) * TimeUnit.HOURS.toMillis(1)));
+            index.index(job);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> filterPage() {
+        return index.page(null, null, oneType, twoRemotes, null, null, 0, 21);
+    }
+
+    @Benchmark
+    public List<Integer> filterPageLastWeek() {
+        return index.page(null, null, oneType, twoRemotes, weekAgo, null, 0, 21);
+    }
+
+    @Benchmark
+    public FacetCounts facets() {
+        return index.facets(null, null, oneType, null, null);
+    }
+}
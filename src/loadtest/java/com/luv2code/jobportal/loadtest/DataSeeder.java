@@ -0,0 +1,143 @@
+package com.luv2code.jobportal.loadtest;
+
+import com.luv2code.jobportal.entity.JobType;
+import com.luv2code.jobportal.entity.RemoteType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sinh dữ liệu giả bằng JDBC batch (nhanh hơn JPA nhiều lần với hàng trăm nghìn dòng).
+ * Id do DB sinh rồi được đọc lại, nên chạy được cả trên H2 lẫn MySQL. Seed cố định nên dữ liệu lặp lại được.
+ * {@code virtualUsers} ứng viên đầu tiên không có đơn ứng tuyển sẵn để trình tạo tải ứng tuyển không bị trùng.
+ */
+class DataSeeder {
+
+    static final String PASSWORD = "password";
+
+    private static final int BATCH = 1_000;
+    private static final String[] TITLES = {"Java Developer", "Kỹ sư Spring Boot", "Frontend React", "Tester",
+            "DevOps", "Business Analyst", "Data Engineer", "Nhân viên kinh doanh", "Kế toán", "Thiết kế UI/UX"};
+    static final String[] KEYWORDS = {"java", "spring", "react", "tester", "devops", "data", "kế toán", "thiết kế"};
+    static final String[] CITIES = {"Hà Nội", "Hồ Chí Minh", "Đà Nẵng", "Cần Thơ", "Hải Phòng", "Huế", "Nha Trang"};
+    private static final JobType[] TYPES = JobType.values();
+    private static final RemoteType[] REMOTES = RemoteType.values();
+    private static final String[] SKILLS = {"Java", "Spring", "SQL", "Docker", "React", "Excel", "Figma", "Git"};
+    private static final String DESCRIPTION = "<p>Mô tả công việc: phát triển và bảo trì hệ thống, làm việc nhóm, "
+            .repeat(4) + "</p>";
+
+    record Seeded(List<Integer> recruiterIds, List<Integer> seekerIds, List<Integer> jobIds) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final LoadTestConfig config;
+    private final SplittableRandom random;
+
+    DataSeeder(JdbcTemplate jdbc, LoadTestConfig config) {
+        this.jdbc = jdbc;
+        this.config = config;
+        this.random = new SplittableRandom(config.seed());
+    }
+
+    Seeded seed(String passwordHash) {
+        Integer existing = jdbc.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("DB đã có dữ liệu (" + existing + " users); hãy dùng một DB trống");
+        }
+        jdbc.update("INSERT INTO users_type (user_type_id, user_type_name) VALUES (1, 'Recruiter'), (2, 'Job Seeker')");
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        batch("INSERT INTO users (email, password, is_active, registration_date, user_type_id) VALUES (?, ?, true, ?, ?)",
+                config.recruiters(), i -> new Object[]{"recruiter" + i + "@load.test", passwordHash, now, 1});
+        batch("INSERT INTO users (email, password, is_active, registration_date, user_type_id) VALUES (?, ?, true, ?, ?)",
+                config.seekers(), i -> new Object[]{"seeker" + i + "@load.test", passwordHash, now, 2});
+        List<Integer> recruiterIds = ids("SELECT user_id FROM users WHERE user_type_id = 1 ORDER BY user_id");
+        List<Integer> seekerIds = ids("SELECT user_id FROM users WHERE user_type_id = 2 ORDER BY user_id");
+
+        batch("INSERT INTO recruiter_profile (user_account_id, first_name, last_name, company, city, country) VALUES (?, ?, ?, ?, ?, ?)",
+                recruiterIds.size(), i -> new Object[]{recruiterIds.get(i), "Recruiter", String.valueOf(i),
+                        "Công ty " + i, pick(CITIES), "Việt Nam"});
+        batch("INSERT INTO job_seeker_profile (user_account_id, first_name, last_name, city, country, experience, certificate) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                seekerIds.size(), i -> new Object[]{seekerIds.get(i), "Seeker", String.valueOf(i), pick(CITIES),
+                        "Việt Nam", String.valueOf(random.nextInt(10)), "Bachelor"});
+        batch("INSERT INTO skills (name, experience_level, years_of_experience, job_seeker_profile) VALUES (?, ?, ?, ?)",
+                seekerIds.size() * config.skillsPerSeeker(), i -> new Object[]{SKILLS[i % SKILLS.length], "Intermediate",
+                        String.valueOf(1 + random.nextInt(5)), seekerIds.get(i / config.skillsPerSeeker())});
+
+        batch("INSERT INTO job_location (city, state, country) VALUES (?, ?, ?)",
+                CITIES.length, i -> new Object[]{CITIES[i], CITIES[i], "Việt Nam"});
+        List<Integer> locationIds = ids("SELECT id FROM job_location ORDER BY id");
+        int companies = Math.max(1, config.jobs() / 5);
+        batch("INSERT INTO job_company (name, logo) VALUES (?, NULL)", companies, i -> new Object[]{"Công ty " + i});
+        List<Integer> companyIds = ids("SELECT id FROM job_company ORDER BY id");
+
+        long nowMillis = now.getTime();
+        batch("INSERT INTO job_post_activity (posted_by_id, job_location_id, job_company_id, description_of_job, job_type, "
+                        + "salary, remote, posted_date, job_title, experience_required, certificate_required, field, number) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                config.jobs(), i -> new Object[]{pick(recruiterIds), pick(locationIds), companyIds.get(i % companyIds.size()),
+                        DESCRIPTION, pick(TYPES).getCode(), (5 + random.nextInt(45)) + " triệu", pick(REMOTES).getCode(),
+                        new Timestamp(nowMillis - TimeUnit.MINUTES.toMillis(random.nextInt(90 * 24 * 60))),
+                        pick(TITLES) + " " + i, random.nextInt(6), "Bachelor", "Software", 1 + random.nextInt(5)});
+        List<Integer> jobIds = ids("SELECT job_post_id FROM job_post_activity ORDER BY job_post_id");
+
+        List<Integer> background = seekerIds.subList(Math.min(config.virtualUsers(), seekerIds.size()), seekerIds.size());
+        List<int[]> applies = pairs(background, jobIds, config.applies());
+        batch("INSERT INTO job_seeker_apply (user_id, job, apply_date, cover_letter) VALUES (?, ?, ?, ?)",
+                applies.size(), i -> new Object[]{applies.get(i)[0], applies.get(i)[1], now, "Xin chào"});
+        List<int[]> saves = pairs(seekerIds, jobIds, config.saves());
+        batch("INSERT INTO job_seeker_save (user_id, job) VALUES (?, ?)",
+                saves.size(), i -> new Object[]{saves.get(i)[0], saves.get(i)[1]});
+
+        return new Seeded(recruiterIds, seekerIds, jobIds);
+    }
+
+    // Các cặp (ứng viên, job) không trùng nhau, vì bảng apply/save có ràng buộc unique
+    private List<int[]> pairs(List<Integer> users, List<Integer> jobs, int count) {
+        if (users.isEmpty() || jobs.isEmpty()) return List.of();
+        long max = (long) users.size() * jobs.size();
+        int target = (int) Math.min(count, max / 2);
+        Set<Long> seen = new HashSet<>(target * 2);
+        List<int[]> out = new ArrayList<>(target);
+        while (out.size() < target) {
+            int user = random.nextInt(users.size());
+            int job = random.nextInt(jobs.size());
+            if (seen.add((long) user * jobs.size() + job)) out.add(new int[]{users.get(user), jobs.get(job)});
+        }
+        return out;
+    }
+
+    private interface Row {
+        Object[] values(int index);
+    }
+
+    private void batch(String sql, int count, Row row) {
+        List<Object[]> chunk = new ArrayList<>(BATCH);
+        for (int i = 0; i < count; i++) {
+            chunk.add(row.values(i));
+            if (chunk.size() == BATCH) {
+                jdbc.batchUpdate(sql, chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) jdbc.batchUpdate(sql, chunk);
+    }
+
+    private List<Integer> ids(String sql) {
+        return jdbc.queryForList(sql, Integer.class);
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,90 @@
+package com.luv2code.jobportal.loadtest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Giả lập độ trễ mạng tới DB (H2 nhúng trả lời gần như tức thì): mỗi lần execute câu lệnh, commit và rollback
+ * chờ thêm {@code loadtest.db-latency} trước khi chạy. Chỉ dùng trong load test.
+ */
+@Configuration(proxyBeanMethods = false)
+class DbLatencyConfiguration {
+
+    private static final Set<String> ROUND_TRIPS = Set.of("commit", "rollback");
+
+    @Bean
+    static DbLatencyPostProcessor dbLatencyPostProcessor(@Value("${loadtest.db-latency:0ms}") Duration latency) {
+        return new DbLatencyPostProcessor(latency);
+    }
+
+    /**
+     * PriorityOrdered nên được đăng ký trước SqlInstrumentationPostProcessor (không có thứ tự) và bọc DataSource
+     * ở lớp trong: thời gian execute mà SqlMetrics đo đã gồm độ trễ giả lập.
+     */
+    record DbLatencyPostProcessor(Duration latency) implements BeanPostProcessor, PriorityOrdered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || latency.isZero()) return bean;
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return connection(super.getConnection(), latency);
+                }
+            };
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    private static Connection connection(Connection target, Duration latency) {
+        return (Connection) proxy(target, Connection.class, (method, args) -> {
+            if (ROUND_TRIPS.contains(method.getName())) Thread.sleep(latency);
+            Object result = invoke(target, method, args);
+            // SqlMetrics chỉ đo execute*, nên độ trễ của câu lệnh nằm ở execute chứ không ở prepareStatement
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return proxy(statement, method.getReturnType(), (statementMethod, statementArgs) -> {
+                    if (statementMethod.getName().startsWith("execute")) Thread.sleep(latency);
+                    return invoke(statement, statementMethod, statementArgs);
+                });
+            }
+            return result;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+
+    private static Object proxy(Object target, Class<?> type, Handler handler) {
+        return Proxy.newProxyInstance(DbLatencyConfiguration.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.invoke(method, args));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.luv2code.jobportal.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ghi lại thời gian phản hồi theo từng loại request. Mỗi luồng tải có một recorder riêng (không cần khóa),
+ * cuối lần chạy các recorder được gộp lại để tính percentile chính xác trên toàn bộ mẫu.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new TreeMap<>();
+
+    void record(String name, long nanos, boolean ok) {
+        Samples s = samples.computeIfAbsent(name, k -> new Samples());
+        if (ok) s.add(nanos);
+        else s.errors++;
+    }
+
+    void mergeFrom(LatencyRecorder other) {
+        other.samples.forEach((name, s) -> {
+            Samples target = samples.computeIfAbsent(name, k -> new Samples());
+            for (int i = 0; i < s.size; i++) target.add(s.values[i]);
+            target.errors += s.errors;
+        });
+    }
+
+    void print(double seconds) {
+        System.out.printf("%-12s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "request", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Samples total = new Samples();
+        samples.forEach((name, s) -> {
+            printRow(name, s, seconds);
+            for (int i = 0; i < s.size; i++) total.add(s.values[i]);
+            total.errors += s.errors;
+        });
+        printRow("TOTAL", total, seconds);
+    }
+
+    private static void printRow(String name, Samples s, double seconds) {
+        long[] sorted = Arrays.copyOf(s.values, s.size);
+        Arrays.sort(sorted);
+        System.out.printf("%-12s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, s.size, s.errors,
+                s.size / seconds, ms(sorted, 0.50), ms(sorted, 0.90), ms(sorted, 0.99), ms(sorted, 0.999),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    // percentile theo nearest-rank
+    private static double ms(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    private static final class Samples {
+        long[] values = new long[1024];
+        int size;
+        long errors;
+
+        void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+}
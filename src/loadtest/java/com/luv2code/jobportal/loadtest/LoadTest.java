@@ -0,0 +1,126 @@
+package com.luv2code.jobportal.loadtest;
+
+import com.luv2code.jobportal.JobportalApplication;
+import com.luv2code.jobportal.services.HomeStatisticsService;
+import com.luv2code.jobportal.services.matching.MatchIndex;
+import com.luv2code.jobportal.services.search.JobSearchIndex;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kiểm thử tải đầu-cuối chạy trên một máy, không cần mạng: khởi động ứng dụng trên H2 (chế độ MySQL) hoặc
+ * MySQL cục bộ, seed dữ liệu giả, đăng nhập {@code vus} ứng viên rồi gửi request theo tỉ lệ cấu hình và
+ * in throughput/percentile độ trễ cho từng loại request.
+ * <p>
+ * Chạy: {@code mvn -Ploadtest test-compile exec:exec@loadtest -Dloadtest.args="jobs=50000 vus=64 duration=120"}
+ * <p>
+ * So sánh luồng platform với virtual thread khi DB chậm (mỗi câu lệnh chờ thêm {@code db-latency-ms}):
+ * {@code -Dloadtest.args="modes=platform,virtual vus=400 db-latency-ms=5 server.tomcat.threads.max=50
+ * spring.datasource.hikari.maximum-pool-size=50"}. Với luồng platform, số request xử lý cùng lúc bị giới hạn bởi
+ * {@code server.tomcat.threads.max}; với virtual thread chỉ còn pool kết nối giới hạn.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        Path workDir = Files.createTempDirectory("jobportal-loadtest");
+
+        // devtools đọc cờ này từ system property trước khi có Environment
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        try {
+            // mỗi chế độ chạy trên một ứng dụng và DB riêng, cùng dữ liệu seed
+            for (String mode : config.modes()) run(config, mode, workDir.resolve(mode));
+        } finally {
+            deleteRecursively(workDir);
+        }
+    }
+
+    private static void run(LoadTestConfig config, String mode, Path workDir) throws Exception {
+        System.out.printf("%n== Chế độ %s ==%n", mode);
+        Class<?>[] sources = {JobportalApplication.class, DbLatencyConfiguration.class};
+        try (ConfigurableApplicationContext context = SpringApplication.run(sources, springArgs(config, mode, workDir))) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            long seedStart = System.nanoTime();
+            String hash = context.getBean(PasswordEncoder.class).encode(DataSeeder.PASSWORD);
+            DataSeeder.Seeded seeded = new DataSeeder(new JdbcTemplate(context.getBean(DataSource.class)), config).seed(hash);
+            // index tìm kiếm, index ghép ứng viên và bộ đếm trang chủ được nạp lúc khởi động, trước khi có dữ liệu
+            context.getBean(JobSearchIndex.class).rebuild();
+            context.getBean(MatchIndex.class).rebuild();
+            context.getBean(HomeStatisticsService.class).reconcile();
+            System.out.printf("Seed %d recruiter, %d ứng viên, %d job trong %.1f s%n", seeded.recruiterIds().size(),
+                    seeded.seekerIds().size(), seeded.jobIds().size(), (System.nanoTime() - seedStart) / 1e9);
+
+            List<VirtualUser> users = new ArrayList<>();
+            for (int i = 0; i < config.virtualUsers(); i++) {
+                VirtualUser user = new VirtualUser(baseUrl, "seeker" + i + "@load.test", seeded.jobIds(), config,
+                        config.seed() * 31 + i);
+                user.login();
+                users.add(user);
+            }
+
+            long start = System.nanoTime();
+            long recordFrom = start + config.warmup().toNanos();
+            long stopAt = recordFrom + config.duration().toNanos();
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < users.size(); i++) {
+                users.get(i).schedule(recordFrom, stopAt);
+                threads.add(Thread.ofPlatform().name("vu-" + i).start(users.get(i)));
+            }
+            System.out.printf("%d người dùng ảo: warmup %d s, đo %d s%n", users.size(),
+                    config.warmup().toSeconds(), config.duration().toSeconds());
+            for (Thread thread : threads) thread.join();
+
+            LatencyRecorder total = new LatencyRecorder();
+            users.forEach(user -> total.mergeFrom(user.recorder()));
+            total.print(config.duration().toMillis() / 1000.0);
+        }
+    }
+
+    // Ứng dụng chạy như production (cache template bật), DB nhúng mặc định, thư mục file tạm.
+    // Truyền qua command line để đè application.properties; tham số người dùng đè lên giá trị mặc định.
+    private static String[] springArgs(LoadTestConfig config, String mode, Path workDir) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        switch (mode) {
+            case "platform" -> { }
+            case "virtual" -> properties.put("spring.profiles.active", "virtual-threads");
+            default -> throw new IllegalArgumentException("modes chỉ nhận platform, virtual: " + mode);
+        }
+        properties.put("server.port", "0");
+        properties.put("management.server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest-" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.hikari.maximum-pool-size", "20");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.devtools.add-properties", "false");
+        properties.put("logging.level.root", "warn");
+        properties.put("loadtest.db-latency", config.dbLatency().toMillis() + "ms");
+        properties.put("jobportal.blobs.dir", workDir.resolve("blobs").toString());
+        properties.put("jobportal.thumbnails.dir", workDir.resolve("thumbs").toString());
+        properties.put("jobportal.upload.spool-dir", workDir.resolve("spool").toString());
+        for (String arg : config.springArgs()) {
+            int eq = arg.indexOf('=');
+            properties.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return properties.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new);
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (var paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.luv2code.jobportal.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tham số của một lần chạy, dạng {@code key=value}; key có dấu chấm là thuộc tính của ứng dụng Spring và được
+ * chuyển nguyên (ví dụ {@code spring.datasource.url=jdbc:mysql://localhost:3306/jobportal_load}).
+ */
+record LoadTestConfig(int recruiters,
+                      int seekers,
+                      int jobs,
+                      int applies,
+                      int saves,
+                      int skillsPerSeeker,
+                      int virtualUsers,
+                      Duration warmup,
+                      Duration duration,
+                      Duration thinkTime,
+                      Duration dbLatency,
+                      List<String> modes,
+                      long seed,
+                      Map<String, Integer> mix,
+                      List<String> springArgs) {
+
+    // Tỉ lệ request mặc định, gần với log truy cập: chủ yếu là xem danh sách và chi tiết job
+    private static final String DEFAULT_MIX = "home:10,dashboard:25,search:20,details:30,save:8,apply:7";
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Tham số không hợp lệ: " + arg + " (cần key=value)");
+            String key = arg.substring(0, eq);
+            if (key.contains(".")) springArgs.add("--" + arg);
+            else values.put(key, arg.substring(eq + 1));
+        }
+        int seekers = intValue(values, "seekers", 5_000);
+        int virtualUsers = intValue(values, "vus", 32);
+        if (virtualUsers > seekers) throw new IllegalArgumentException("vus không được lớn hơn seekers");
+        return new LoadTestConfig(
+                intValue(values, "recruiters", 200),
+                seekers,
+                intValue(values, "jobs", 20_000),
+                intValue(values, "applies", 50_000),
+                intValue(values, "saves", 50_000),
+                intValue(values, "skills", 3),
+                virtualUsers,
+                Duration.ofSeconds(intValue(values, "warmup", 15)),
+                Duration.ofSeconds(intValue(values, "duration", 60)),
+                Duration.ofMillis(intValue(values, "think-ms", 0)),
+                Duration.ofMillis(intValue(values, "db-latency-ms", 0)),
+                List.of(values.getOrDefault("modes", "platform").split(",")),
+                intValue(values, "seed", 42),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                List.copyOf(springArgs));
+    }
+
+    private static int intValue(Map<String, String> values, String key, int defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value.replace("_", ""));
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split(":");
+            weights.put(kv[0], Integer.parseInt(kv[1]));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,160 @@
+package com.luv2code.jobportal.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Một người dùng ảo: đăng nhập bằng tài khoản ứng viên đã seed rồi gửi request liên tục (vòng kín)
+ * theo tỉ lệ {@link LoadTestConfig#mix()}. Mỗi người dùng có cookie session và HttpClient riêng.
+ */
+class VirtualUser implements Runnable {
+
+    private final String baseUrl;
+    private final String email;
+    private final List<Integer> jobIds;
+    private final LoadTestConfig config;
+    private final String[] scenarios;
+    private final int[] cumulativeWeights;
+    private final SplittableRandom random;
+    private final HttpClient client;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    // job đã ứng tuyển trong lần chạy này: bảng apply có unique (user, job)
+    private final Set<Integer> applied = new HashSet<>();
+
+    private volatile long recordFrom;
+    private volatile long stopAt;
+
+    VirtualUser(String baseUrl, String email, List<Integer> jobIds, LoadTestConfig config, long seed) {
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.jobIds = jobIds;
+        this.config = config;
+        this.random = new SplittableRandom(seed);
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Map<String, Integer> mix = config.mix();
+        this.scenarios = mix.keySet().stream().sorted().toArray(String[]::new);
+        this.cumulativeWeights = new int[scenarios.length];
+        int sum = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            sum += mix.get(scenarios[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    void login() throws IOException, InterruptedException {
+        HttpResponse<Void> response = send(post("/login", "username=" + encode(email) + "&password=" + DataSeeder.PASSWORD));
+        String location = response.headers().firstValue("Location").orElse("");
+        if (response.statusCode() != 302 || location.contains("error")) {
+            throw new IllegalStateException("Đăng nhập thất bại cho " + email + ": " + response.statusCode() + " " + location);
+        }
+    }
+
+    void schedule(long recordFrom, long stopAt) {
+        this.recordFrom = recordFrom;
+        this.stopAt = stopAt;
+    }
+
+    LatencyRecorder recorder() {
+        return recorder;
+    }
+
+    @Override
+    public void run() {
+        while (System.nanoTime() < stopAt) {
+            String scenario = nextScenario();
+            HttpRequest request = request(scenario);
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                int status = send(request).statusCode();
+                ok = status == 200 || status == 302;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long end = System.nanoTime();
+            if (start >= recordFrom) recorder.record(scenario, end - start, ok);
+            if (!config.thinkTime().isZero()) {
+                try {
+                    Thread.sleep(config.thinkTime());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private String nextScenario() {
+        int r = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) return scenarios[i];
+        }
+        return scenarios[scenarios.length - 1];
+    }
+
+    private HttpRequest request(String scenario) {
+        return switch (scenario) {
+            case "home" -> get("/");
+            case "dashboard" -> random.nextInt(3) == 0
+                    ? get("/dashboard/?job=" + encode(pick(DataSeeder.KEYWORDS)) + "&fullTime=Full-Time")
+                    : get("/dashboard/");
+            case "search" -> get("/global-search/?job=" + encode(pick(DataSeeder.KEYWORDS))
+                    + "&location=" + encode(pick(DataSeeder.CITIES)));
+            case "details" -> get("/job-details-apply/" + randomJob());
+            case "save" -> post("/job-details/save/" + randomJob(), "");
+            case "apply" -> post("/job-details/apply/" + unappliedJob(), "");
+            default -> throw new IllegalArgumentException("Không có kịch bản " + scenario);
+        };
+    }
+
+    private int randomJob() {
+        return jobIds.get(random.nextInt(jobIds.size()));
+    }
+
+    private int unappliedJob() {
+        int job = randomJob();
+        while (!applied.add(job) && applied.size() < jobIds.size()) job = randomJob();
+        return job;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String path, String form) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)).build();
+    }
+
+    private HttpResponse<Void> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -1,8 +1,11 @@
 package com.luv2code.jobportal.config;
 
+import com.luv2code.jobportal.services.metrics.DomainMetrics;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
@@ -13,15 +16,24 @@ import java.io.IOException;
 @Component
 public class CustomAuthenticationSuccessHandler implements AuthenticationSuccessHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(CustomAuthenticationSuccessHandler.class);
+
+    private final DomainMetrics domainMetrics;
+
+    public CustomAuthenticationSuccessHandler(DomainMetrics domainMetrics) {
+        this.domainMetrics = domainMetrics;
+    }
+
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response, Authentication authentication) throws IOException, ServletException {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         String username = userDetails.getUsername();
-        System.out.println("The username " + username + " is logged in.");
+        log.debug("The username {} is logged in.", username);
         boolean hasJobSeekerRole = authentication.getAuthorities().stream().anyMatch(r->r.getAuthority().equals("Job Seeker"));
         boolean hasRecruiterRole = authentication.getAuthorities().stream().anyMatch(r->r.getAuthority().equals("Recruiter"));
 
         if (hasRecruiterRole || hasJobSeekerRole) {
+            domainMetrics.loggedIn(hasRecruiterRole);
             response.sendRedirect("/dashboard/");
         }
     }
@@ -1,24 +1,105 @@
 package com.luv2code.jobportal.config;
 
+import com.luv2code.jobportal.entity.JobType;
+import com.luv2code.jobportal.entity.RemoteType;
+import com.luv2code.jobportal.services.files.BlobResourceResolver;
+import com.luv2code.jobportal.services.files.BlobStore;
+import com.luv2code.jobportal.services.files.FileServer;
+import com.luv2code.jobportal.services.files.ThumbnailResourceResolver;
+import com.luv2code.jobportal.services.files.ThumbnailService;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.format.Formatter;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Function;
 
 @Configuration
 public class MvcConfig implements WebMvcConfigurer {
 
     private static final String UPLOAD_DIR = "photos";
 
+    // Cho các URL có version/khóa nội dung: nội dung đổi thì URL đổi, trình duyệt không cần hỏi lại
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private final ThumbnailService thumbnailService;
+    private final BlobStore blobStore;
+
+    public MvcConfig(ThumbnailService thumbnailService, BlobStore blobStore) {
+        this.thumbnailService = thumbnailService;
+        this.blobStore = blobStore;
+    }
+
+    // jobType/remote trên form và tham số lọc dùng nhãn ("Full-Time", "Remote-Only"), không dùng tên hằng enum;
+    // nhãn không nhận ra thì request bị trả 400 như mọi tham số sai kiểu
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addFormatterForFieldType(JobType.class, new LabelFormatter<>(JobType::getLabel, JobType::fromLabel));
+        registry.addFormatterForFieldType(RemoteType.class, new LabelFormatter<>(RemoteType::getLabel, RemoteType::fromLabel));
+    }
+
+    private record LabelFormatter<E>(Function<E, String> label, Function<String, E> parser) implements Formatter<E> {
+
+        @Override
+        public String print(E value, Locale locale) {
+            return label.apply(value);
+        }
+
+        @Override
+        public E parse(String text, Locale locale) {
+            E value = parser.apply(text);
+            if (value == null) throw new IllegalArgumentException("Giá trị không hợp lệ: " + text);
+            return value;
+        }
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // Ảnh thu nhỏ: URL đổi theo ảnh gốc nên cho phép cache vĩnh viễn
+        registry.addResourceHandler(ThumbnailService.URL_PREFIX + "**")
+                .addResourceLocations("file:" + thumbnailService.getCacheDir() + "/")
+                .setCacheControl(IMMUTABLE)
+                .setEtagGenerator(FileServer::etag)
+                .resourceChain(false)
+                .addResolver(new ThumbnailResourceResolver(thumbnailService));
+        // Blob đánh địa chỉ theo nội dung, không bao giờ bị ghi đè: khóa sha256 chính là ETag
+        registry.addResourceHandler("/blobs/**")
+                .setCacheControl(IMMUTABLE)
+                .setEtagGenerator(resource -> resource instanceof FileSystemResource blob
+                        ? "\"" + blob.getFile().getName() + "\"" : null)
+                .resourceChain(false)
+                .addResolver(new BlobResourceResolver(blobStore));
         exposeDirectory(UPLOAD_DIR, registry);
+
+        // File tĩnh và webjars: @{...} trong template sinh URL có hash nội dung (styles-<md5>.css),
+        // link trong CSS cũng được viết lại. Bản .gz nén sẵn lúc build được ưu tiên khi client chấp nhận gzip.
+        registry.addResourceHandler("/webjars/**")
+                .addResourceLocations("classpath:/META-INF/resources/webjars/")
+                .setCacheControl(IMMUTABLE)
+                .resourceChain(true)
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        registry.addResourceHandler("/**")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(IMMUTABLE)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
     }
 
+    // Ảnh upload cũ có thể bị ghi đè cùng tên: trình duyệt phải hỏi lại mỗi lần, ETag mạnh giúp nhận 304
     private void exposeDirectory(String uploadDir, ResourceHandlerRegistry registry) {
         Path path = Paths.get(uploadDir);
-        registry.addResourceHandler("/" + uploadDir + "/**").addResourceLocations("file:" + path.toAbsolutePath() + "/");
+        registry.addResourceHandler("/" + uploadDir + "/**").addResourceLocations("file:" + path.toAbsolutePath() + "/")
+                .setCacheControl(CacheControl.noCache().cachePublic())
+                .setEtagGenerator(FileServer::etag);
     }
 }
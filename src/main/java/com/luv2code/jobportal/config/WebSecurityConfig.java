@@ -2,6 +2,7 @@ package com.luv2code.jobportal.config;
 
 import com.luv2code.jobportal.services.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -19,6 +20,11 @@ public class WebSecurityConfig {
 
     private final CustomUserDetailsService customUserDetailsService;
     private final CustomAuthenticationSuccessHandler customAuthenticationSuccessHandler;
+
+    // cổng actuator (management.server.port), chỉ nghe 127.0.0.1
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Autowired
     public WebSecurityConfig(CustomUserDetailsService customUserDetailsService, CustomAuthenticationSuccessHandler customAuthenticationSuccessHandler) {
         this.customUserDetailsService = customUserDetailsService;
@@ -31,6 +37,7 @@ public class WebSecurityConfig {
             "/register/**",
             "/webjars/**",
             "/photos/**",
+            "/blobs/**",
             "/resources/**",
             "/assets/**",
             "/css/**",
@@ -39,7 +46,8 @@ public class WebSecurityConfig {
             "/*.css",
             "/*.js",
             "/*.js.map",
-            "/fonts**", "/favicon.ico", "/resources/**", "/error"};
+            "/fonts**", "/favicon.ico", "/resources/**", "/error",
+            "/actuator/health"};
 
     @Bean
     protected SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -48,6 +56,8 @@ public class WebSecurityConfig {
 
         http.authorizeHttpRequests(auth -> {
             auth.requestMatchers(publicUrl).permitAll();
+            // /actuator/prometheus, /actuator/metrics chỉ mở trên cổng management, không qua cổng ứng dụng
+            auth.requestMatchers(request -> request.getLocalPort() == managementPort).permitAll();
             auth.anyRequest().authenticated();
         });
 
@@ -1,11 +1,6 @@
 package com.luv2code.jobportal.controller;
 
-import com.luv2code.jobportal.entity.RecruiterProfile;
-import com.luv2code.jobportal.repository.JobPostActivityRepository;
-import com.luv2code.jobportal.repository.JobSeekerApplyRepository;
-import com.luv2code.jobportal.repository.JobSeekerProfileRepository;
-import com.luv2code.jobportal.repository.RecruiterProfileRepository;
-import com.luv2code.jobportal.services.UsersTypeService;
+import com.luv2code.jobportal.services.HomeStatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -14,29 +9,18 @@ import org.springframework.web.bind.annotation.GetMapping;
 @Controller
 public class HomeController {
     @Autowired
-    private RecruiterProfileRepository recruiterProfileRepository;
-    @Autowired
-    private JobPostActivityRepository jobPostActivityRepository;
-    @Autowired
-    private JobSeekerProfileRepository jobSeekerProfileRepository;
-    @Autowired
-    private JobSeekerApplyRepository jobSeekerApplyRepository;
+    private HomeStatisticsService homeStatisticsService;
 
 
     @GetMapping("/")
     public String home(Model model) {
-        Long totalJobs = jobPostActivityRepository.count();
-        Long totalRecruiter = recruiterProfileRepository.count();
-        Long totalJobseeker = jobSeekerProfileRepository.count();
-        Long totalJobseekerApply = jobSeekerApplyRepository.count();
-        Long totalJobToday = jobPostActivityRepository.countTodayJobPosts();
-        Long totalApplied = jobSeekerApplyRepository.count();
-        model.addAttribute("totalApplied", totalApplied);
-        model.addAttribute("totalJobToday", totalJobToday);
-        model.addAttribute("totalJobseekerApply", totalJobseekerApply);
-        model.addAttribute("totalJobseeker", totalJobseeker);
-        model.addAttribute("totalJobs", totalJobs);
-        model.addAttribute("totalRecruiter", totalRecruiter);
+        HomeStatisticsService.Snapshot stats = homeStatisticsService.snapshot();
+        model.addAttribute("totalApplied", stats.totalApplications());
+        model.addAttribute("totalJobToday", stats.jobsToday());
+        model.addAttribute("totalJobseekerApply", stats.totalApplications());
+        model.addAttribute("totalJobseeker", stats.totalJobSeekers());
+        model.addAttribute("totalJobs", stats.totalJobs());
+        model.addAttribute("totalRecruiter", stats.totalRecruiters());
         return "index";
     }
 }
@@ -2,10 +2,10 @@ package com.luv2code.jobportal.controller;
 
 import com.luv2code.jobportal.entity.*;
 import com.luv2code.jobportal.services.JobPostActivityService;
-import com.luv2code.jobportal.services.JobSeekerApplyService;
-import com.luv2code.jobportal.services.JobSeekerSaveService;
+import com.luv2code.jobportal.services.MatchingService;
+import com.luv2code.jobportal.services.SeekerInteractionService;
 import com.luv2code.jobportal.services.UsersService;
-import com.luv2code.jobportal.util.FileUploadUtil;
+import com.luv2code.jobportal.services.files.UploadPipeline;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -26,20 +26,26 @@ import java.util.*;
 @Controller
 public class JobPostActivityController {
 
+    // số việc làm gợi ý hiển thị trên trang đầu dashboard của ứng viên
+    private static final int RECOMMENDED_JOBS = 5;
+
     private final UsersService usersService;
     private final JobPostActivityService jobPostActivityService;
-    private final JobSeekerApplyService jobSeekerApplyService;
-    private final JobSeekerSaveService jobSeekerSaveService;
+    private final SeekerInteractionService seekerInteractionService;
+    private final UploadPipeline uploadPipeline;
+    private final MatchingService matchingService;
 
     @Autowired
     public JobPostActivityController(UsersService usersService,
                                      JobPostActivityService jobPostActivityService,
-                                     JobSeekerApplyService jobSeekerApplyService,
-                                     JobSeekerSaveService jobSeekerSaveService) {
+                                     SeekerInteractionService seekerInteractionService,
+                                     UploadPipeline uploadPipeline,
+                                     MatchingService matchingService) {
         this.usersService = usersService;
         this.jobPostActivityService = jobPostActivityService;
-        this.jobSeekerApplyService = jobSeekerApplyService;
-        this.jobSeekerSaveService = jobSeekerSaveService;
+        this.seekerInteractionService = seekerInteractionService;
+        this.uploadPipeline = uploadPipeline;
+        this.matchingService = matchingService;
     }
 
 
@@ -48,26 +54,27 @@ public class JobPostActivityController {
     public String searchJobs(Model model,
                              @RequestParam(value = "job", required = false) String job,
                              @RequestParam(value = "location", required = false) String location,
-                             @RequestParam(value = "partTime", required = false) String partTime,
-                             @RequestParam(value = "fullTime", required = false) String fullTime,
-                             @RequestParam(value = "freelance", required = false) String freelance,
-                             @RequestParam(value = "internship", required = false) String internship,
-                             @RequestParam(value = "remoteOnly", required = false) String remoteOnly,
-                             @RequestParam(value = "officeOnly", required = false) String officeOnly,
-                             @RequestParam(value = "partialRemote", required = false) String partialRemote,
+                             @RequestParam(value = "partTime", required = false) JobType partTime,
+                             @RequestParam(value = "fullTime", required = false) JobType fullTime,
+                             @RequestParam(value = "freelance", required = false) JobType freelance,
+                             @RequestParam(value = "internship", required = false) JobType internship,
+                             @RequestParam(value = "remoteOnly", required = false) RemoteType remoteOnly,
+                             @RequestParam(value = "officeOnly", required = false) RemoteType officeOnly,
+                             @RequestParam(value = "partialRemote", required = false) RemoteType partialRemote,
                              @RequestParam(value = "today", required = false) boolean today,
                              @RequestParam(value = "days7", required = false) boolean days7,
-                             @RequestParam(value = "days30", required = false) boolean days30) {
+                             @RequestParam(value = "days30", required = false) boolean days30,
+                             @RequestParam(value = "after", required = false) String after) {
 
         // Bind lại các tham số cho view (checkbox & input)
-        model.addAttribute("partTime", Objects.equals(partTime, "Part-Time"));
-        model.addAttribute("fullTime", Objects.equals(fullTime, "Full-Time"));
-        model.addAttribute("freelance", Objects.equals(freelance, "Freelance"));
-        model.addAttribute("internship", Objects.equals(internship, "Internship"));
-
-        model.addAttribute("remoteOnly", Objects.equals(remoteOnly, "Remote-Only"));
-        model.addAttribute("officeOnly", Objects.equals(officeOnly, "Office-Only"));
-        model.addAttribute("partialRemote", Objects.equals(partialRemote, "Partial-Remote"));
+        model.addAttribute("partTime", partTime == JobType.PART_TIME);
+        model.addAttribute("fullTime", fullTime == JobType.FULL_TIME);
+        model.addAttribute("freelance", freelance == JobType.FREELANCE);
+        model.addAttribute("internship", internship == JobType.INTERNSHIP);
+
+        model.addAttribute("remoteOnly", remoteOnly == RemoteType.REMOTE_ONLY);
+        model.addAttribute("officeOnly", officeOnly == RemoteType.OFFICE_ONLY);
+        model.addAttribute("partialRemote", partialRemote == RemoteType.PARTIAL_REMOTE);
         model.addAttribute("today", today);
         model.addAttribute("days7", days7);
         model.addAttribute("days30", days30);
@@ -85,85 +92,56 @@ public class JobPostActivityController {
                 && authentication.getAuthorities().contains(new SimpleGrantedAuthority("Recruiter"));
 
 
+        JobCursor cursor = JobCursor.decode(after);
+
         if (isRecruiter) {
-            List<JobPostActivity> jobs;
+            JobPage jobs;
             boolean noKeyword = !StringUtils.hasText(job) && !StringUtils.hasText(location);
             if (noKeyword) {
-                jobs = jobPostActivityService.getRecruiterOwnJobs();
+                jobs = jobPostActivityService.getRecruiterOwnJobs(cursor);
             } else {
-                jobs = jobPostActivityService.searchRecruiterOwn(job, location);
+                jobs = jobPostActivityService.searchRecruiterOwn(job, location, cursor);
             }
-            model.addAttribute("jobPost", jobs);
+            model.addAttribute("jobPost", jobs.content());
+            model.addAttribute("nextCursor", jobs.nextCursor() == null ? null : jobs.nextCursor().encode());
             return "dashboard";
         }
 
 
         LocalDate searchDate = null;
-        boolean dateSearchFlag = true;
-        boolean remote = true;
-        boolean type = true;
-
         if (days30) searchDate = LocalDate.now().minusDays(30);
         else if (days7) searchDate = LocalDate.now().minusDays(7);
         else if (today) searchDate = LocalDate.now();
-        else dateSearchFlag = false;
-
-        if (partTime == null && fullTime == null && freelance == null && internship == null) {
-            partTime = "Part-Time";
-            fullTime = "Full-Time";
-            freelance = "Freelance";
-            internship = "Internship";
-            remote = false; // đánh dấu "không lọc type"
-        }
-        if (officeOnly == null && remoteOnly == null && partialRemote == null) {
-            officeOnly = "Office-Only";
-            remoteOnly = "Remote-Only";
-            partialRemote = "Partial-Remote";
-            type = false;   // đánh dấu "không lọc remote"
-        }
 
-        List<JobPostActivity> jobPost;
-        if (!dateSearchFlag && !remote && !type && !StringUtils.hasText(job) && !StringUtils.hasText(location)) {
-            jobPost = jobPostActivityService.getAll();
+        // null = không tick ô nào trong nhóm, tức là không lọc theo nhóm đó
+        List<JobType> types = selected(partTime, fullTime, freelance, internship);
+        List<RemoteType> remotes = selected(remoteOnly, officeOnly, partialRemote);
+
+        JobPage page;
+        if (searchDate == null && types == null && remotes == null
+                && !StringUtils.hasText(job) && !StringUtils.hasText(location)) {
+            page = jobPostActivityService.getAll(cursor);
         } else {
-            jobPost = jobPostActivityService.search(
-                    job, location,
-                    Arrays.asList(partTime, fullTime, freelance, internship),
-                    Arrays.asList(remoteOnly, officeOnly, partialRemote),
-                    searchDate
-            );
+            page = jobPostActivityService.search(job, location, types, remotes, searchDate, cursor);
         }
+        List<JobListItem> jobPost = page.content();
+        model.addAttribute("facets", jobPostActivityService.facets(job, location, types, remotes, searchDate));
 
         // Bổ sung trạng thái đã nộp/đã lưu & ngày đã đăng
         if (currentUserProfile instanceof JobSeekerProfile jsp) {
-            List<JobSeekerApply> applied = jobSeekerApplyService.getCandidatesJobs(jsp);
-            List<JobSeekerSave> saved = jobSeekerSaveService.getCandidatesJob(jsp);
-
-            Map<Integer, Long> daysAgoMap = new HashMap<>();
-            for (JobPostActivity jpa : jobPost) {
-                // Days ago
-                if (jpa.getPostedDate() != null) {
-                    LocalDate posted = jpa.getPostedDate().toInstant()
-                            .atZone(ZoneId.systemDefault())
-                            .toLocalDate();
-                    long daysAgo = ChronoUnit.DAYS.between(posted, LocalDate.now());
-                    daysAgoMap.put(jpa.getJobPostId(), daysAgo);
-                } else {
-                    daysAgoMap.put(jpa.getJobPostId(), 0L);
-                }
-
-                boolean isApplied = applied.stream()
-                        .anyMatch(a -> Objects.equals(a.getJob().getJobPostId(), jpa.getJobPostId()));
-                boolean isSaved = saved.stream()
-                        .anyMatch(s -> Objects.equals(s.getJob().getJobPostId(), jpa.getJobPostId()));
-
-                jpa.setIsActive(isApplied);
-                jpa.setIsSaved(isSaved);
+            SeekerInteractionService.Interactions interactions = seekerInteractionService.forSeeker(jsp);
+            jobPost = interactions.withFlags(jobPost);
+            model.addAttribute("daysAgoMap", daysAgo(jobPost));
+            // Việc làm phù hợp với hồ sơ, chỉ ở trang đầu
+            if (cursor == null) {
+                MatchingService.Ranked<JobListItem> recommended = matchingService.recommendedJobs(jsp, RECOMMENDED_JOBS);
+                model.addAttribute("recommended", interactions.withFlags(recommended.items()));
+                model.addAttribute("matchPercent", recommended.percent());
             }
-            model.addAttribute("daysAgoMap", daysAgoMap);
         }
 
         model.addAttribute("jobPost", jobPost);
+        model.addAttribute("nextCursor", page.nextCursor() == null ? null : page.nextCursor().encode());
         return "dashboard";
     }
 
@@ -185,17 +163,20 @@ public class JobPostActivityController {
             jobPostActivity.setPostedDate(new Date());
         }
 
+        // logo chỉ được ghi qua UploadPipeline, không lấy từ ô ẩn trên form
+        if (jobPostActivity.getJobCompanyId() != null && jobPostActivity.getJobCompanyId().getId() == null) {
+            jobPostActivity.getJobCompanyId().setLogo(null);
+        }
+
         // 1) Lưu job
-        jobPostActivityService.addNew(jobPostActivity);
+        JobPostActivity saved = jobPostActivityService.addNew(jobPostActivity);
 
-        // 2) Lưu logo nếu có
-        if (!logo.isEmpty() && jobPostActivity.getJobCompanyId() != null) {
-            String fileName = StringUtils.cleanPath(Objects.requireNonNull(logo.getOriginalFilename()));
-            jobPostActivity.getJobCompanyId().setLogo(fileName);
+        // 2) Logo được lưu ở UploadPipeline rồi mới ghi vào công ty, không lưu job lần hai
+        if (saved.getJobCompanyId() != null) {
+            int jobPostId = saved.getJobPostId();
+            int companyId = saved.getJobCompanyId().getId();
             try {
-                String uploadDir = "photos/company/" + jobPostActivity.getJobCompanyId().getId();
-                FileUploadUtil.saveFile(uploadDir, fileName, logo);
-                jobPostActivityService.addNew(jobPostActivity);
+                uploadPipeline.submit(logo, ref -> jobPostActivityService.updateCompanyLogo(jobPostId, companyId, ref));
             } catch (IOException e) {
                 throw new RuntimeException("Lỗi lưu file: " + e.getMessage());
             }
@@ -237,89 +218,86 @@ public class JobPostActivityController {
     public String globalSearch(Model model,
                                @RequestParam(value = "job", required = false) String job,
                                @RequestParam(value = "location", required = false) String location,
-                               @RequestParam(value = "partTime", required = false) String partTime,
-                               @RequestParam(value = "fullTime", required = false) String fullTime,
-                               @RequestParam(value = "freelance", required = false) String freelance,
-                               @RequestParam(value = "internship", required = false) String internship,
-                               @RequestParam(value = "remoteOnly", required = false) String remoteOnly,
-                               @RequestParam(value = "officeOnly", required = false) String officeOnly,
-                               @RequestParam(value = "partialRemote", required = false) String partialRemote,
+                               @RequestParam(value = "partTime", required = false) JobType partTime,
+                               @RequestParam(value = "fullTime", required = false) JobType fullTime,
+                               @RequestParam(value = "freelance", required = false) JobType freelance,
+                               @RequestParam(value = "internship", required = false) JobType internship,
+                               @RequestParam(value = "remoteOnly", required = false) RemoteType remoteOnly,
+                               @RequestParam(value = "officeOnly", required = false) RemoteType officeOnly,
+                               @RequestParam(value = "partialRemote", required = false) RemoteType partialRemote,
                                @RequestParam(value = "today", required = false) boolean today,
                                @RequestParam(value = "days7", required = false) boolean days7,
-                               @RequestParam(value = "days30", required = false) boolean days30) {
+                               @RequestParam(value = "days30", required = false) boolean days30,
+                               @RequestParam(value = "after", required = false) String after) {
 
         // Bind lại các giá trị cho view
         model.addAttribute("job", job);
         model.addAttribute("location", location);
-        model.addAttribute("partTime", Objects.equals(partTime, "Part-Time"));
-        model.addAttribute("fullTime", Objects.equals(fullTime, "Full-Time"));
-        model.addAttribute("freelance", Objects.equals(freelance, "Freelance"));
-        model.addAttribute("internship", Objects.equals(internship, "Internship"));
-        model.addAttribute("remoteOnly", Objects.equals(remoteOnly, "Remote-Only"));
-        model.addAttribute("officeOnly", Objects.equals(officeOnly, "Office-Only"));
-        model.addAttribute("partialRemote", Objects.equals(partialRemote, "Partial-Remote"));
+        model.addAttribute("partTime", partTime == JobType.PART_TIME);
+        model.addAttribute("fullTime", fullTime == JobType.FULL_TIME);
+        model.addAttribute("freelance", freelance == JobType.FREELANCE);
+        model.addAttribute("internship", internship == JobType.INTERNSHIP);
+        model.addAttribute("remoteOnly", remoteOnly == RemoteType.REMOTE_ONLY);
+        model.addAttribute("officeOnly", officeOnly == RemoteType.OFFICE_ONLY);
+        model.addAttribute("partialRemote", partialRemote == RemoteType.PARTIAL_REMOTE);
         model.addAttribute("today", today);
         model.addAttribute("days7", days7);
         model.addAttribute("days30", days30);
 
         // Xác định ngày lọc
         LocalDate searchDate = null;
-        boolean dateFilter = true;
         if (days30) searchDate = LocalDate.now().minusDays(30);
         else if (days7) searchDate = LocalDate.now().minusDays(7);
         else if (today) searchDate = LocalDate.now();
-        else dateFilter = false;
-
-        //  Nếu không có filter type hoặc remote, đặt mặc định
-        boolean filterType = true;
-        boolean filterRemote = true;
-
-        if (partTime == null && fullTime == null && freelance == null && internship == null) {
-            partTime = "Part-Time";
-            fullTime = "Full-Time";
-            freelance = "Freelance";
-            internship = "Internship";
-            filterType = false; // mặc định bỏ lọc
-        }
 
-        if (officeOnly == null && remoteOnly == null && partialRemote == null) {
-            officeOnly = "Office-Only";
-            remoteOnly = "Remote-Only";
-            partialRemote = "Partial-Remote";
-            filterRemote = false; // mặc định bỏ lọc
-        }
+        // Không tick ô nào trong nhóm thì không lọc theo nhóm đó
+        List<JobType> types = selected(partTime, fullTime, freelance, internship);
+        List<RemoteType> remotes = selected(remoteOnly, officeOnly, partialRemote);
 
-        // Lấy danh sách job
-        List<JobPostActivity> jobPost;
-        if (!dateFilter && !filterType && !filterRemote && !StringUtils.hasText(job) && !StringUtils.hasText(location)) {
-            jobPost = jobPostActivityService.getAll(); // không filter gì cả
+        // Lấy danh sách job (theo trang)
+        JobCursor cursor = JobCursor.decode(after);
+        JobPage page;
+        if (searchDate == null && types == null && remotes == null
+                && !StringUtils.hasText(job) && !StringUtils.hasText(location)) {
+            page = jobPostActivityService.getAll(cursor); // không filter gì cả
         } else {
-            jobPost = jobPostActivityService.search(
-                    job, location,
-                    Arrays.asList(partTime, fullTime, freelance, internship),
-                    Arrays.asList(remoteOnly, officeOnly, partialRemote),
-                    searchDate
-            );
+            page = jobPostActivityService.search(job, location, types, remotes, searchDate, cursor);
         }
+        List<JobListItem> jobPost = page.content();
+        model.addAttribute("facets", jobPostActivityService.facets(job, location, types, remotes, searchDate));
 
         // Tính số ngày đã đăng để hiển thị
+        model.addAttribute("daysAgoMap", daysAgo(jobPost));
+        model.addAttribute("jobPost", jobPost);
+        model.addAttribute("nextCursor", page.nextCursor() == null ? null : page.nextCursor().encode());
+
+        return "global-search";
+    }
+
+    // Các giá trị checkbox được tick trong một nhóm lọc; null nếu không tick ô nào
+    @SafeVarargs
+    private static <E> List<E> selected(E... values) {
+        List<E> out = new ArrayList<>();
+        for (E value : values) {
+            if (value != null) out.add(value);
+        }
+        return out.isEmpty() ? null : out;
+    }
+
+    // Số ngày kể từ ngày đăng của mỗi job, theo jobPostId
+    static Map<Integer, Long> daysAgo(List<JobListItem> jobs) {
         Map<Integer, Long> daysAgoMap = new HashMap<>();
-        for (JobPostActivity jpa : jobPost) {
-            if (jpa.getPostedDate() != null) {
-                LocalDate posted = jpa.getPostedDate().toInstant()
+        for (JobListItem item : jobs) {
+            if (item.postedDate() != null) {
+                LocalDate posted = item.postedDate().toInstant()
                         .atZone(ZoneId.systemDefault())
                         .toLocalDate();
-                long daysAgo = ChronoUnit.DAYS.between(posted, LocalDate.now());
-                daysAgoMap.put(jpa.getJobPostId(), daysAgo);
+                daysAgoMap.put(item.jobPostId(), ChronoUnit.DAYS.between(posted, LocalDate.now()));
             } else {
-                daysAgoMap.put(jpa.getJobPostId(), 0L);
+                daysAgoMap.put(item.jobPostId(), 0L);
             }
         }
-
-        model.addAttribute("daysAgoMap", daysAgoMap);
-        model.addAttribute("jobPost", jobPost);
-
-        return "global-search";
+        return daysAgoMap;
     }
 
 }
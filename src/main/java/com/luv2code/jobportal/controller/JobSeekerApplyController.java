@@ -12,61 +12,62 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.*;
 
 @Controller
 public class JobSeekerApplyController {
 
+    // số ứng viên phù hợp hiển thị cho recruiter trên trang chi tiết job
+    private static final int TOP_CANDIDATES = 10;
+
     private final JobPostActivityService jobPostActivityService;
     private final UsersService usersService;
     private final JobSeekerApplyService jobSeekerApplyService;
     private final JobSeekerSaveService jobSeekerSaveService;
     private final RecruiterProfileService recruiterProfileService;
     private final JobSeekerProfileService jobSeekerProfileService;
-
+    private final SeekerInteractionService seekerInteractionService;
+    private final MatchingService matchingService;
 
     @Autowired
-    public JobSeekerApplyController(JobPostActivityService jobPostActivityService, UsersService usersService, JobSeekerApplyService jobSeekerApplyService, JobSeekerSaveService jobSeekerSaveService, RecruiterProfileService recruiterProfileService, JobSeekerProfileService jobSeekerProfileService) {
+    public JobSeekerApplyController(JobPostActivityService jobPostActivityService, UsersService usersService, JobSeekerApplyService jobSeekerApplyService, JobSeekerSaveService jobSeekerSaveService, RecruiterProfileService recruiterProfileService, JobSeekerProfileService jobSeekerProfileService, SeekerInteractionService seekerInteractionService, MatchingService matchingService) {
         this.jobPostActivityService = jobPostActivityService;
         this.usersService = usersService;
         this.jobSeekerApplyService = jobSeekerApplyService;
         this.jobSeekerSaveService = jobSeekerSaveService;
         this.recruiterProfileService = recruiterProfileService;
         this.jobSeekerProfileService = jobSeekerProfileService;
+        this.seekerInteractionService = seekerInteractionService;
+        this.matchingService = matchingService;
     }
 
     @GetMapping("job-details-apply/{id}")
-    public String display(@PathVariable("id") int id, Model model) {
-        JobPostActivity jobDetails = jobPostActivityService.getOne(id);
-        List<JobSeekerApply> jobSeekerApplyList = jobSeekerApplyService.getJobCandidates(jobDetails);
-        List<JobSeekerSave> jobSeekerSaveList = jobSeekerSaveService.getJobCandidates(jobDetails);
+    public String display(@PathVariable("id") int id,
+                          @RequestParam(value = "page", defaultValue = "0") int page,
+                          Model model) {
+        JobDetails jobDetails = jobPostActivityService.getCachedOne(id);
+        // các truy vấn theo job (ứng viên, đã apply/save) chỉ cần id
+        JobPostActivity job = jobPostActivityService.getReference(id);
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (!(authentication instanceof AnonymousAuthenticationToken)) {
             if (authentication.getAuthorities().contains(new SimpleGrantedAuthority("Recruiter"))) {
                 RecruiterProfile user = recruiterProfileService.getCurrentRecruiterProfile();
-                if (user != null) {
-                    model.addAttribute("applyList", jobSeekerApplyList);
+                // chỉ recruiter đăng job mới xem được danh sách ứng viên
+                if (user != null && Objects.equals(jobDetails.postedById(), user.getUserAccountId())) {
+                    JobSeekerApplyService.RankedApplicants applicants = jobSeekerApplyService.getRankedCandidates(job, page);
+                    model.addAttribute("applyPage", applicants.page());
+                    model.addAttribute("applicantPercent", applicants.percent());
+                    MatchingService.Ranked<CandidateItem> candidates = matchingService.topCandidates(job, TOP_CANDIDATES);
+                    model.addAttribute("topCandidates", candidates.items());
+                    model.addAttribute("candidatePercent", candidates.percent());
                 }
             } else {
                 JobSeekerProfile user = jobSeekerProfileService.getCurrentSeekerProfile();
                 if (user != null) {
-                    boolean exists = false;
-                    boolean saved = false;
-                    for (JobSeekerApply jobSeekerApply : jobSeekerApplyList) {
-                        if (jobSeekerApply.getUserId().getUserAccountId() == user.getUserAccountId()) {
-                            exists = true;
-                            break;
-                        }
-                    }
-                    for (JobSeekerSave jobSeekerSave : jobSeekerSaveList) {
-                        if (jobSeekerSave.getUserId().getUserAccountId() == user.getUserAccountId()) {
-                            saved = true;
-                            break;
-                        }
-                    }
-                    model.addAttribute("alreadyApplied", exists);
-                    model.addAttribute("alreadySaved", saved);
+                    model.addAttribute("alreadyApplied", jobSeekerApplyService.hasApplied(user, job));
+                    model.addAttribute("alreadySaved", jobSeekerSaveService.existsByUserAndJob(user, job));
                 }
             }
         }
@@ -83,9 +84,7 @@ public class JobSeekerApplyController {
     public String apply(@PathVariable("id") int id, JobSeekerApply jobSeekerApply) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (!(authentication instanceof AnonymousAuthenticationToken)) {
-            String currentUsername = authentication.getName();
-            Users user = usersService.findByEmail(currentUsername);
-            Optional<JobSeekerProfile> seekerProfile = jobSeekerProfileService.getOne(user.getUserId());
+            Optional<JobSeekerProfile> seekerProfile = Optional.ofNullable(jobSeekerProfileService.getCurrentSeekerProfile());
             JobPostActivity jobPostActivity = jobPostActivityService.getOne(id);
             if (seekerProfile.isPresent() && jobPostActivity != null) {
                 jobSeekerApply = new JobSeekerApply();
@@ -102,22 +101,12 @@ public class JobSeekerApplyController {
     }
     @GetMapping("applied-jobs/")
     public String appliedJobs(Model model) {
-        List<JobPostActivity> jobPost = new ArrayList<>();
         Object currentUserProfile = usersService.getCurrentUserProfile();
 
-        List<JobSeekerSave> jobSeekerSaveList = jobSeekerSaveService.getCandidatesJob((JobSeekerProfile) currentUserProfile);
-        List<JobSeekerApply> jobSeekerApplyList = jobSeekerApplyService.getCandidatesJobs((JobSeekerProfile) currentUserProfile);
-
-        for (JobSeekerApply jobSeekerApply : jobSeekerApplyList) {
-            JobPostActivity job = jobSeekerApply.getJob();
-
-            boolean exist = jobSeekerSaveList.stream()
-                    .anyMatch(j -> Objects.equals(j.getJob().getJobPostId(), job.getJobPostId()));
-
-            job.setIsSaved(exist);
-            job.setIsActive(true);
-
-            jobPost.add(job);
+        SeekerInteractionService.Interactions interactions = seekerInteractionService.forSeeker((JobSeekerProfile) currentUserProfile);
+        List<JobListItem> jobPost = new ArrayList<>();
+        for (JobListItem job : jobSeekerApplyService.getAppliedJobs((JobSeekerProfile) currentUserProfile)) {
+            jobPost.add(job.withFlags(true, interactions.hasSaved(job.jobPostId())));
         }
 
         model.addAttribute("jobPost", jobPost);
@@ -125,11 +114,3 @@ public class JobSeekerApplyController {
         return "applied-jobs";
     }
 }
-
-
-
-
-
-
-
-
@@ -3,30 +3,28 @@ package com.luv2code.jobportal.controller;
 import com.luv2code.jobportal.entity.JobSeekerProfile;
 import com.luv2code.jobportal.entity.Skills;
 import com.luv2code.jobportal.entity.Users;
-import com.luv2code.jobportal.repository.UsersRepository;
 import com.luv2code.jobportal.services.JobSeekerProfileService;
-import com.luv2code.jobportal.util.FileDownloadUtil;
-import com.luv2code.jobportal.util.FileUploadUtil;
+import com.luv2code.jobportal.services.UsersService;
+import com.luv2code.jobportal.services.files.BlobService;
+import com.luv2code.jobportal.services.files.FileServer;
+import com.luv2code.jobportal.services.files.UploadPipeline;
+import com.luv2code.jobportal.util.BlobRef;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
-import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 
 @Controller
@@ -35,12 +33,22 @@ public class JobSeekerProfileController {
 
     private JobSeekerProfileService jobSeekerProfileService;
 
-    private UsersRepository usersRepository;
+    private UsersService usersService;
+
+    private FileServer fileServer;
+
+    private UploadPipeline uploadPipeline;
+
+    private BlobService blobService;
 
     @Autowired
-    public JobSeekerProfileController(JobSeekerProfileService jobSeekerProfileService, UsersRepository usersRepository) {
+    public JobSeekerProfileController(JobSeekerProfileService jobSeekerProfileService, UsersService usersService,
+                                      FileServer fileServer, UploadPipeline uploadPipeline, BlobService blobService) {
         this.jobSeekerProfileService = jobSeekerProfileService;
-        this.usersRepository = usersRepository;
+        this.usersService = usersService;
+        this.fileServer = fileServer;
+        this.uploadPipeline = uploadPipeline;
+        this.blobService = blobService;
     }
 
     @GetMapping("/")
@@ -50,8 +58,7 @@ public class JobSeekerProfileController {
         List<Skills> skills = new ArrayList<>();
 
         if (!(authentication instanceof AnonymousAuthenticationToken)) {
-            Users user = usersRepository.findByEmail(authentication.getName()).orElseThrow(() -> new UsernameNotFoundException("User not found."));
-            Optional<JobSeekerProfile> seekerProfile = jobSeekerProfileService.getOne(user.getUserId());
+            Optional<JobSeekerProfile> seekerProfile = Optional.ofNullable(jobSeekerProfileService.getCurrentSeekerProfile());
             if (seekerProfile.isPresent()) {
                 jobSeekerProfile = seekerProfile.get();
                 if (jobSeekerProfile.getSkills().isEmpty()) {
@@ -72,45 +79,19 @@ public class JobSeekerProfileController {
                          @RequestParam("image") MultipartFile image,
                          @RequestParam("pdf") MultipartFile pdf,
                          Model model) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        if (!(authentication instanceof AnonymousAuthenticationToken)) {
-            Users user = usersRepository.findByEmail(authentication.getName()).orElseThrow(() -> new UsernameNotFoundException("User not found."));
-            jobSeekerProfile.setUserId(user);
-            jobSeekerProfile.setUserAccountId(user.getUserId());
-        }
+        Users user = usersService.getCurrentUser();
 
         List<Skills> skillsList = new ArrayList<>();
         model.addAttribute("profile", jobSeekerProfile);
         model.addAttribute("skills", skillsList);
 
-        for (Skills skills : jobSeekerProfile.getSkills()) {
-            skills.setJobSeekerProfile(jobSeekerProfile);
-        }
-
-        String imageName = "";
-        String resumeName = "";
-
-        if (!Objects.equals(image.getOriginalFilename(), "")) {
-            imageName = StringUtils.cleanPath(Objects.requireNonNull(image.getOriginalFilename()));
-            jobSeekerProfile.setProfilePhoto(imageName);
-        }
-
-        if (!Objects.equals(pdf.getOriginalFilename(), "")) {
-            resumeName = StringUtils.cleanPath(Objects.requireNonNull(pdf.getOriginalFilename()));
-            jobSeekerProfile.setResume(resumeName);
-        }
-
-        JobSeekerProfile seekerProfile = jobSeekerProfileService.addNew(jobSeekerProfile);
+        // Ảnh và CV chỉ đổi qua UploadPipeline, không lấy từ ô ẩn trên form (số tham chiếu blob phải khớp với DB)
+        int userAccountId = user.getUserId();
+        jobSeekerProfileService.updateFromForm(userAccountId, jobSeekerProfile);
 
         try {
-            String uploadDir = "photos/candidate/" + jobSeekerProfile.getUserAccountId();
-            if (!Objects.equals(image.getOriginalFilename(), "")) {
-                FileUploadUtil.saveFile(uploadDir, imageName, image);
-            }
-            if (!Objects.equals(pdf.getOriginalFilename(), "")) {
-                FileUploadUtil.saveFile(uploadDir, resumeName, pdf);
-            }
+            uploadPipeline.submit(image, ref -> jobSeekerProfileService.updateProfilePhoto(userAccountId, ref));
+            uploadPipeline.submit(pdf, ref -> jobSeekerProfileService.updateResume(userAccountId, ref));
         }
         catch (IOException ex) {
             throw new RuntimeException(ex);
@@ -128,29 +109,20 @@ public class JobSeekerProfileController {
     }
 
     @GetMapping("/downloadResume")
-    public ResponseEntity<?> downloadResume(@RequestParam(value = "fileName") String fileName, @RequestParam(value = "userID") String userId) {
-
-        FileDownloadUtil downloadUtil = new FileDownloadUtil();
-        Resource resource = null;
-
-        try {
-            resource = downloadUtil.getFileAsResourse("photos/candidate/" + userId, fileName);
-        } catch (IOException e) {
-            return ResponseEntity.badRequest().build();
-        }
-
-        if (resource == null) {
-            return new ResponseEntity<>("File not found", HttpStatus.NOT_FOUND);
+    public void downloadResume(@RequestParam(value = "fileName", required = false) String fileName,
+                               @RequestParam(value = "userID") int userId,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        // Tên file lấy từ profile, không liệt kê thư mục; fileName trên URL chỉ để giữ tương thích link cũ
+        String resume = jobSeekerProfileService.getOne(userId).map(JobSeekerProfile::getResume).orElse(null);
+        BlobRef blob = BlobRef.parse(resume);
+        Path file = blob != null ? blobService.locate(blob)
+                : FileServer.resolveInside(Paths.get("photos/candidate/" + userId), resume);
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "File not found");
+            return;
         }
-
-        String contentType = "application/octet-stream";
-        String headerValue = "attachment; filename=\"" + resource.getFilename() + "\"";
-
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, headerValue)
-                .body(resource);
-
+        fileServer.serve(file, BlobRef.displayName(resume), request, response);
     }
 }
 
@@ -13,7 +13,6 @@ import org.springframework.web.bind.annotation.PostMapping;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 
 @Controller
@@ -23,18 +22,18 @@ public class JobSeekerSaveController {
     private final JobSeekerProfileService jobSeekerProfileService;
     private final JobPostActivityService jobPostActivityService;
     private final JobSeekerSaveService jobSeekerSaveService;
-    private final JobSeekerApplyService jobSeekerApplyService;
+    private final SeekerInteractionService seekerInteractionService;
 
     public JobSeekerSaveController(UsersService usersService,
                                    JobSeekerProfileService jobSeekerProfileService,
                                    JobPostActivityService jobPostActivityService,
                                    JobSeekerSaveService jobSeekerSaveService,
-                                   JobSeekerApplyService jobSeekerApplyService) {
+                                   SeekerInteractionService seekerInteractionService) {
         this.usersService = usersService;
         this.jobSeekerProfileService = jobSeekerProfileService;
         this.jobPostActivityService = jobPostActivityService;
         this.jobSeekerSaveService = jobSeekerSaveService;
-        this.jobSeekerApplyService = jobSeekerApplyService;
+        this.seekerInteractionService = seekerInteractionService;
     }
 
     @PostMapping("job-details/save/{id}")
@@ -42,9 +41,7 @@ public class JobSeekerSaveController {
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (!(authentication instanceof AnonymousAuthenticationToken)) {
-            String currentUsername = authentication.getName();
-            Users user = usersService.findByEmail(currentUsername);
-            Optional<JobSeekerProfile> seekerProfile = jobSeekerProfileService.getOne(user.getUserId());
+            Optional<JobSeekerProfile> seekerProfile = Optional.ofNullable(jobSeekerProfileService.getCurrentSeekerProfile());
             JobPostActivity jobPostActivity = jobPostActivityService.getOne(id);
 
             if (seekerProfile.isPresent() && jobPostActivity != null) {
@@ -66,22 +63,13 @@ public class JobSeekerSaveController {
 
     @GetMapping("saved-jobs/")
     public String savedJobs(Model model) {
-        List<JobPostActivity> jobPost = new ArrayList<>();
         Object currentUserProfile = usersService.getCurrentUserProfile();
 
-        List<JobSeekerSave> jobSeekerSaveList = jobSeekerSaveService.getCandidatesJob((JobSeekerProfile) currentUserProfile);
-        List<JobSeekerApply> jobSeekerApplyList = jobSeekerApplyService.getCandidatesJobs((JobSeekerProfile) currentUserProfile);
-
-        for (JobSeekerSave jobSeekerSave : jobSeekerSaveList) {
-            JobPostActivity job = jobSeekerSave.getJob();
-
-            boolean exist = jobSeekerApplyList.stream()
-                    .anyMatch(j -> Objects.equals(j.getJob().getJobPostId(), job.getJobPostId()));
-
-            job.setIsSaved(true); // vì đang ở trang "saved jobs" mà
-            job.setIsActive(exist); // xem người này đã apply chưa
-
-            jobPost.add(job);
+        SeekerInteractionService.Interactions interactions = seekerInteractionService.forSeeker((JobSeekerProfile) currentUserProfile);
+        List<JobListItem> jobPost = new ArrayList<>();
+        for (JobListItem job : jobSeekerSaveService.getSavedJobs((JobSeekerProfile) currentUserProfile)) {
+            // đang ở trang "saved jobs" nên luôn là đã lưu; xem người này đã apply chưa
+            jobPost.add(job.withFlags(interactions.hasApplied(job.jobPostId()), true));
         }
 
         model.addAttribute("jobPost", jobPost);
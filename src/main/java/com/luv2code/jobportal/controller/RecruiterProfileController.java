@@ -2,35 +2,40 @@ package com.luv2code.jobportal.controller;
 
 import com.luv2code.jobportal.entity.RecruiterProfile;
 import com.luv2code.jobportal.entity.Users;
-import com.luv2code.jobportal.repository.UsersRepository;
 import com.luv2code.jobportal.services.RecruiterProfileService;
-import com.luv2code.jobportal.util.FileUploadUtil;
+import com.luv2code.jobportal.services.UsersService;
+import com.luv2code.jobportal.services.files.UploadPipeline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
-import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.Objects;
+import java.io.IOException;
 import java.util.Optional;
 
 @Controller
 @RequestMapping("/recruiter-profile")
 public class RecruiterProfileController {
 
-    private final UsersRepository usersRepository;
+    private static final Logger log = LoggerFactory.getLogger(RecruiterProfileController.class);
+
+    private final UsersService usersService;
     private final RecruiterProfileService recruiterProfileService;
+    private final UploadPipeline uploadPipeline;
 
-    public RecruiterProfileController(UsersRepository usersRepository, RecruiterProfileService recruiterProfileService) {
-        this.usersRepository = usersRepository;
+    public RecruiterProfileController(UsersService usersService, RecruiterProfileService recruiterProfileService,
+                                      UploadPipeline uploadPipeline) {
+        this.usersService = usersService;
         this.recruiterProfileService = recruiterProfileService;
+        this.uploadPipeline = uploadPipeline;
     }
 
     @GetMapping("/")
@@ -39,9 +44,7 @@ public class RecruiterProfileController {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (!(authentication instanceof AnonymousAuthenticationToken)) {
-            String currentUsername = authentication.getName();
-            Users users = usersRepository.findByEmail(currentUsername).orElseThrow(() -> new UsernameNotFoundException("Could not " + "found user"));
-            Optional<RecruiterProfile> recruiterProfile = recruiterProfileService.getOne(users.getUserId());
+            Optional<RecruiterProfile> recruiterProfile = Optional.ofNullable(recruiterProfileService.getCurrentRecruiterProfile());
 
             if (!recruiterProfile.isEmpty())
                 model.addAttribute("profile", recruiterProfile.get());
@@ -54,28 +57,18 @@ public class RecruiterProfileController {
     @PostMapping("/addNew")
     public String addNew(RecruiterProfile recruiterProfile, @RequestParam("image") MultipartFile multipartFile, Model model) {
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (!(authentication instanceof AnonymousAuthenticationToken)) {
-            String currentUsername = authentication.getName();
-            Users users = usersRepository.findByEmail(currentUsername).orElseThrow(() -> new UsernameNotFoundException("Could not " + "found user"));
-            recruiterProfile.setUserId(users);
-            recruiterProfile.setUserAccountId(users.getUserId());
-        }
+        Users users = usersService.getCurrentUser();
         model.addAttribute("profile", recruiterProfile);
-        String fileName = "";
-        if (!multipartFile.getOriginalFilename().equals("")) {
-            fileName = StringUtils.cleanPath(Objects.requireNonNull(multipartFile.getOriginalFilename()));
-            recruiterProfile.setProfilePhoto(fileName);
-        }
-        RecruiterProfile savedUser = recruiterProfileService.addNew(recruiterProfile);
+        // Ảnh chỉ đổi qua UploadPipeline (lưu vào kho blob rồi mới ghi vào profile)
+        int userAccountId = users.getUserId();
+        recruiterProfileService.updateFromForm(userAccountId, recruiterProfile);
 
-        String uploadDir = "photos/recruiter/" + savedUser.getUserAccountId();
         try {
-            if (!multipartFile.getOriginalFilename().equals("")) {
-                FileUploadUtil.saveFile(uploadDir, fileName, multipartFile);
-            }
-        } catch (Exception ex) {
-            ex.printStackTrace();
+            uploadPipeline.submit(multipartFile, ref -> recruiterProfileService.updateProfilePhoto(userAccountId, ref));
+        } catch (IOException ex) {
+            // không ghi được file vào spool: báo lỗi thay vì redirect như đã lưu ảnh
+            log.error("Không ghi được ảnh profile của recruiter {} vào spool", userAccountId, ex);
+            throw new RuntimeException(ex);
         }
 
         return "redirect:/dashboard/";
@@ -0,0 +1,11 @@
+package com.luv2code.jobportal.entity;
+
+/**
+ * Một ứng viên trong danh sách "ứng viên phù hợp" của recruiter, chỉ các cột được hiển thị.
+ */
+public record CandidateItem(Integer userAccountId,
+                            String firstName,
+                            String lastName,
+                            String certificate,
+                            String experience) {
+}
@@ -0,0 +1,31 @@
+package com.luv2code.jobportal.entity;
+
+import java.util.Date;
+
+/**
+ * Vị trí keyset (postedDate, jobPostId) của job cuối cùng trên trang trước.
+ * Được mã hóa thành chuỗi "millis_id" để đưa vào tham số URL.
+ */
+public record JobCursor(Date postedDate, int jobPostId) {
+
+    public static JobCursor of(JobListItem job) {
+        return new JobCursor(job.postedDate(), job.jobPostId());
+    }
+
+    public static JobCursor decode(String value) {
+        if (value == null || value.isBlank()) return null;
+        int sep = value.indexOf('_');
+        if (sep < 0) return null;
+        try {
+            long millis = Long.parseLong(value.substring(0, sep));
+            int id = Integer.parseInt(value.substring(sep + 1));
+            return new JobCursor(new Date(millis), id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public String encode() {
+        return postedDate.getTime() + "_" + jobPostId;
+    }
+}
@@ -0,0 +1,33 @@
+package com.luv2code.jobportal.entity;
+
+import java.util.Date;
+
+/**
+ * Các cột của trang chi tiết job, được {@code JobDetailsCache} giữ và dùng chung giữa các request.
+ * Tạo thẳng trong JPQL bằng {@code SELECT new ...} nên không có quan hệ lazy hay entity được quản lý;
+ * {@code postedById} là userId của recruiter đăng job.
+ */
+public record JobDetails(Integer jobPostId,
+                         Integer postedById,
+                         String jobTitle,
+                         String descriptionOfJob,
+                         JobType jobType,
+                         RemoteType remote,
+                         String salary,
+                         Date postedDate,
+                         String field,
+                         Integer number,
+                         String certificateRequired,
+                         Integer experienceRequired,
+                         Integer companyId,
+                         String companyName,
+                         String companyLogo,
+                         String city,
+                         String state,
+                         String country) {
+
+    public JobDetails {
+        // bản sao riêng: Date đọc từ JDBC có thể sửa được
+        postedDate = postedDate == null ? null : new Date(postedDate.getTime());
+    }
+}
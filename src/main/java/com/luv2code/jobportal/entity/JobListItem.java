@@ -0,0 +1,44 @@
+package com.luv2code.jobportal.entity;
+
+import java.util.Date;
+
+/**
+ * Một dòng trong danh sách job (dashboard, global-search, applied-jobs, saved-jobs).
+ * Chỉ chứa các cột được hiển thị, không nạp mô tả job hay các quan hệ apply/save.
+ * Được tạo trực tiếp trong JPQL bằng {@code SELECT new ...}, xem {@link #SELECT}.
+ */
+public record JobListItem(Integer jobPostId,
+                          String jobTitle,
+                          JobType jobType,
+                          RemoteType remote,
+                          String salary,
+                          Date postedDate,
+                          Integer companyId,
+                          String companyName,
+                          String companyLogo,
+                          String city,
+                          String state,
+                          String country,
+                          Boolean isActive,
+                          Boolean isSaved) {
+
+    // Phần SELECT dùng chung; câu truy vấn phải đặt alias j cho job, c cho công ty, l cho địa điểm
+    public static final String SELECT = """
+            SELECT new com.luv2code.jobportal.entity.JobListItem(
+                   j.jobPostId, j.jobTitle, j.jobType, j.remote, j.salary, j.postedDate,
+                   c.id, c.name, c.logo, l.city, l.state, l.country)
+            """;
+
+    public JobListItem(Integer jobPostId, String jobTitle, JobType jobType, RemoteType remote, String salary,
+                       Date postedDate, Integer companyId, String companyName, String companyLogo,
+                       String city, String state, String country) {
+        this(jobPostId, jobTitle, jobType, remote, salary, postedDate, companyId, companyName, companyLogo,
+                city, state, country, null, null);
+    }
+
+    // isActive = đã ứng tuyển, isSaved = đã lưu (giữ tên giống JobPostActivity để template không đổi)
+    public JobListItem withFlags(boolean applied, boolean saved) {
+        return new JobListItem(jobPostId, jobTitle, jobType, remote, salary, postedDate, companyId, companyName,
+                companyLogo, city, state, country, applied, saved);
+    }
+}
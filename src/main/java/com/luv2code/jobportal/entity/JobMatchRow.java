@@ -0,0 +1,12 @@
+package com.luv2code.jobportal.entity;
+
+/**
+ * Các cột của job mà MatchIndex cần khi dựng lại index (không nạp quan hệ hay danh sách apply/save).
+ */
+public record JobMatchRow(Integer jobPostId,
+                          String jobTitle,
+                          String field,
+                          String descriptionOfJob,
+                          Integer experienceRequired,
+                          String certificateRequired) {
+}
@@ -0,0 +1,26 @@
+package com.luv2code.jobportal.entity;
+
+import java.util.List;
+
+/**
+ * Một trang danh sách job theo keyset; {@code nextCursor} là null khi không còn trang sau.
+ */
+public record JobPage(List<JobListItem> content, JobCursor nextCursor) {
+
+    /**
+     * @param rows     kết quả truy vấn với limit = pageSize + 1
+     * @param pageSize số job tối đa trên một trang
+     */
+    public static JobPage of(List<JobListItem> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new JobPage(rows, null);
+        }
+        List<JobListItem> content = rows.subList(0, pageSize);
+        JobListItem last = content.get(pageSize - 1);
+        return new JobPage(content, last.postedDate() == null ? null : JobCursor.of(last));
+    }
+
+    public static JobPage empty() {
+        return new JobPage(List.of(), null);
+    }
+}
@@ -8,8 +8,20 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
+// Dùng cho các danh sách job: lấy luôn người đăng, địa điểm, công ty trong cùng một câu SELECT
+@NamedEntityGraph(name = JobPostActivity.LIST_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "postedById", subgraph = "postedBy"),
+                @NamedAttributeNode("jobLocationId"),
+                @NamedAttributeNode("jobCompanyId")
+        },
+        subgraphs = @NamedSubgraph(name = "postedBy", attributeNodes = @NamedAttributeNode("userTypeId")))
+// Cho truy vấn lọc theo hình thức/địa điểm làm việc, mới đăng trước (xem db/job-type-remote-codes.sql)
+@Table(indexes = @Index(name = "idx_job_post_type_remote_date", columnList = "jobType, remote, postedDate"))
 public class JobPostActivity {
 
+    public static final String LIST_GRAPH = "JobPostActivity.list";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer jobPostId;
@@ -35,10 +47,13 @@ public class JobPostActivity {
     @Length(max = 10000)
     private String descriptionOfJob;
 
-    private String jobType;
+    // lưu dạng TINYINT qua JobTypeConverter / RemoteTypeConverter
+    private JobType jobType;
     private String salary;
-    private String remote;
+    private RemoteType remote;
 
+    // keyset (postedDate, jobPostId) của các trang danh sách cần ngày đăng (xem db/posted-date-not-null.sql)
+    @Column(nullable = false)
     @DateTimeFormat(pattern = "dd-MM-yyyy")
     private Date postedDate;
     private String jobTitle;
@@ -65,7 +80,7 @@ public class JobPostActivity {
     public JobPostActivity() {
     }
 
-    public JobPostActivity(Integer jobPostId, Users postedById, JobLocation jobLocationId, JobCompany jobCompanyId, Boolean isActive, Boolean isSaved, String descriptionOfJob, String jobType, String salary, String remote, Date postedDate, String jobTitle, Integer experienceRequired, String certificateRequired, String field, Integer number) {
+    public JobPostActivity(Integer jobPostId, Users postedById, JobLocation jobLocationId, JobCompany jobCompanyId, Boolean isActive, Boolean isSaved, String descriptionOfJob, JobType jobType, String salary, RemoteType remote, Date postedDate, String jobTitle, Integer experienceRequired, String certificateRequired, String field, Integer number) {
         this.jobPostId = jobPostId;
         this.postedById = postedById;
         this.jobLocationId = jobLocationId;
@@ -172,11 +187,11 @@ public class JobPostActivity {
         this.descriptionOfJob = descriptionOfJob;
     }
 
-    public String getJobType() {
+    public JobType getJobType() {
         return jobType;
     }
 
-    public void setJobType(String jobType) {
+    public void setJobType(JobType jobType) {
         this.jobType = jobType;
     }
 
@@ -188,11 +203,11 @@ public class JobPostActivity {
         this.salary = salary;
     }
 
-    public String getRemote() {
+    public RemoteType getRemote() {
         return remote;
     }
 
-    public void setRemote(String remote) {
+    public void setRemote(RemoteType remote) {
         this.remote = remote;
     }
 
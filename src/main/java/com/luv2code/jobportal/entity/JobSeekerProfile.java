@@ -1,10 +1,14 @@
 package com.luv2code.jobportal.entity;
 
+import com.luv2code.jobportal.util.BlobRef;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.List;
 
 @Entity
+// chỉ UPDATE các cột đã đổi: lưu form không ghi lại cột file đọc từ trước (cột file chỉ đổi qua UploadPipeline)
+@DynamicUpdate
 @Table(name = "job_seeker_profile")
 public class JobSeekerProfile {
 
@@ -26,7 +30,7 @@ public class JobSeekerProfile {
     private String experience;
     private String certificate;
 
-    @Column(nullable = true, length = 64)
+    @Column(nullable = true, length = 255)
     private String profilePhoto;
 
     @OneToMany(targetEntity = Skills.class, cascade = CascadeType.ALL, mappedBy = "jobSeekerProfile")
@@ -154,9 +158,17 @@ public class JobSeekerProfile {
     @Transient
     public String getPhotosImagePath() {
         if (profilePhoto == null || userAccountId == null) return null;
+        BlobRef blob = BlobRef.parse(profilePhoto);
+        if (blob != null) return blob.url();
         return "/photos/candidate/" + userAccountId + "/" + profilePhoto;
     }
 
+    // Tên CV để hiển thị (cột resume có thể chứa khóa blob)
+    @Transient
+    public String getResumeName() {
+        return BlobRef.displayName(resume);
+    }
+
     @Override
     public String toString() {
         return "JobSeekerProfile{" +
@@ -0,0 +1,53 @@
+package com.luv2code.jobportal.entity;
+
+/**
+ * Hình thức làm việc của job. {@code code} là giá trị lưu trong cột TINYINT job_type (không dùng ordinal
+ * để thêm hằng mới không làm sai dữ liệu cũ), {@code label} là giá trị trên form và tham số lọc.
+ */
+public enum JobType {
+
+    FULL_TIME(1, "Full-Time", "Toàn thời gian"),
+    PART_TIME(2, "Part-Time", "Bán thời gian"),
+    FREELANCE(3, "Freelance", "Tự do"),
+    INTERNSHIP(4, "Internship", "Thực tập");
+
+    private final byte code;
+    private final String label;
+    private final String displayName;
+
+    JobType(int code, String label, String displayName) {
+        this.code = (byte) code;
+        this.label = label;
+        this.displayName = displayName;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public static JobType fromCode(Byte code) {
+        if (code == null) return null;
+        for (JobType type : values()) {
+            if (type.code == code) return type;
+        }
+        throw new IllegalArgumentException("Mã jobType không hợp lệ: " + code);
+    }
+
+    // Không phân biệt hoa thường ("Full-time" của form cũ vẫn nhận); null nếu rỗng hoặc không nhận ra
+    public static JobType fromLabel(String label) {
+        if (label == null) return null;
+        String value = label.trim();
+        for (JobType type : values()) {
+            if (type.label.equalsIgnoreCase(value)) return type;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.luv2code.jobportal.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class JobTypeConverter implements AttributeConverter<JobType, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(JobType type) {
+        return type == null ? null : type.getCode();
+    }
+
+    @Override
+    public JobType convertToEntityAttribute(Byte code) {
+        return JobType.fromCode(code);
+    }
+}
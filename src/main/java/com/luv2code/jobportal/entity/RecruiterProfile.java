@@ -1,8 +1,12 @@
 package com.luv2code.jobportal.entity;
 
+import com.luv2code.jobportal.util.BlobRef;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+// chỉ UPDATE các cột đã đổi: lưu form không ghi lại cột file đọc từ trước (cột file chỉ đổi qua UploadPipeline)
+@DynamicUpdate
 @Table(name = "recruiter_profile")
 public class RecruiterProfile {
 
@@ -24,7 +28,7 @@ public class RecruiterProfile {
 
     private String company;
 
-    @Column(nullable = true, length = 64)
+    @Column(nullable = true, length = 255)
     private String profilePhoto;
 
     public RecruiterProfile() {
@@ -121,6 +125,8 @@ public class RecruiterProfile {
     @Transient
     public String getPhotosImagePath() {
         if (profilePhoto == null) return null;
+        BlobRef blob = BlobRef.parse(profilePhoto);
+        if (blob != null) return blob.url();
         return "/photos/recruiter/" + userAccountId + "/" + profilePhoto;
     }
 
@@ -0,0 +1,51 @@
+package com.luv2code.jobportal.entity;
+
+/**
+ * Địa điểm làm việc của job (cột TINYINT remote), cùng cách lưu mã như {@link JobType}.
+ */
+public enum RemoteType {
+
+    REMOTE_ONLY(1, "Remote-Only", "Làm việc từ xa"),
+    OFFICE_ONLY(2, "Office-Only", "Văn phòng"),
+    PARTIAL_REMOTE(3, "Partial-Remote", "Kết hợp");
+
+    private final byte code;
+    private final String label;
+    private final String displayName;
+
+    RemoteType(int code, String label, String displayName) {
+        this.code = (byte) code;
+        this.label = label;
+        this.displayName = displayName;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public static RemoteType fromCode(Byte code) {
+        if (code == null) return null;
+        for (RemoteType type : values()) {
+            if (type.code == code) return type;
+        }
+        throw new IllegalArgumentException("Mã remote không hợp lệ: " + code);
+    }
+
+    // Không phân biệt hoa thường; null nếu rỗng hoặc không nhận ra
+    public static RemoteType fromLabel(String label) {
+        if (label == null) return null;
+        String value = label.trim();
+        for (RemoteType type : values()) {
+            if (type.label.equalsIgnoreCase(value)) return type;
+        }
+        return null;
+    }
+}
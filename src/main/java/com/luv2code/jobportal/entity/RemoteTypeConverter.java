@@ -0,0 +1,18 @@
+package com.luv2code.jobportal.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class RemoteTypeConverter implements AttributeConverter<RemoteType, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(RemoteType type) {
+        return type == null ? null : type.getCode();
+    }
+
+    @Override
+    public RemoteType convertToEntityAttribute(Byte code) {
+        return RemoteType.fromCode(code);
+    }
+}
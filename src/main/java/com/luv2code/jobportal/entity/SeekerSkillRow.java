@@ -0,0 +1,12 @@
+package com.luv2code.jobportal.entity;
+
+/**
+ * Một dòng (ứng viên, skill) cho MatchIndex; ứng viên chưa có skill cho một dòng với các cột skill null.
+ */
+public record SeekerSkillRow(Integer userAccountId,
+                             String experience,
+                             String certificate,
+                             String skillName,
+                             String experienceLevel,
+                             String yearsOfExperience) {
+}
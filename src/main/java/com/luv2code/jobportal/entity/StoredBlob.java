@@ -0,0 +1,51 @@
+package com.luv2code.jobportal.entity;
+
+import jakarta.persistence.*;
+
+import java.util.Date;
+
+/**
+ * Số tham chiếu tới một blob trong kho file (khóa SHA-256). Blob có refCount = 0 sẽ bị GC xóa.
+ */
+@Entity
+@Table(name = "stored_blob")
+public class StoredBlob {
+
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    private long size;
+
+    private int refCount;
+
+    private Date createdAt;
+
+    public StoredBlob() {
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "StoredBlob{" +
+                "sha256='" + sha256 + '\'' +
+                ", size=" + size +
+                ", refCount=" + refCount +
+                '}';
+    }
+}
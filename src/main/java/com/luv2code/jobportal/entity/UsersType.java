@@ -1,10 +1,13 @@
 package com.luv2code.jobportal.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usersType")
 @Table(name = "users_type")
 public class UsersType {
 
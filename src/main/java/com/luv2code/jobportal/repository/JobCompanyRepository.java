@@ -0,0 +1,18 @@
+package com.luv2code.jobportal.repository;
+
+import com.luv2code.jobportal.entity.JobCompany;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface JobCompanyRepository extends JpaRepository<JobCompany, Integer> {
+
+    // Khóa dòng khi đổi cột file để số tham chiếu blob không bị đếm sai khi hai upload chạy cùng lúc
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM JobCompany c WHERE c.id = :id")
+    Optional<JobCompany> findForUpdate(@Param("id") int id);
+}
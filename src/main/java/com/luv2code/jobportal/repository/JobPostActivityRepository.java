@@ -1,13 +1,20 @@
 package com.luv2code.jobportal.repository;
 
 import com.luv2code.jobportal.entity.IRecruiterJobs;
+import com.luv2code.jobportal.entity.JobDetails;
+import com.luv2code.jobportal.entity.JobListItem;
+import com.luv2code.jobportal.entity.JobMatchRow;
 import com.luv2code.jobportal.entity.JobPostActivity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 public interface JobPostActivityRepository extends JpaRepository<JobPostActivity, Integer> {
 
@@ -24,68 +31,34 @@ public interface JobPostActivityRepository extends JpaRepository<JobPostActivity
 
 
 
-    @Query(value = """
-SELECT * FROM job_post_activity j
-INNER JOIN job_location l ON j.job_location_id = l.id
-INNER JOIN job_company c ON j.job_company_id = c.id
-
-WHERE
-    (:job IS NULL OR 
-        j.job_title LIKE %:job% OR
-        c.name LIKE %:job%
-    )
-    AND (
-        :location IS NULL OR
-        l.city LIKE %:location% OR
-        l.country LIKE %:location% OR
-        l.state LIKE %:location%
-    )
-    AND (j.job_type IN(:type))
-    AND (j.remote IN(:remote))
-ORDER BY j.posted_date DESC
-""", nativeQuery = true)
-    List<JobPostActivity> searchWithoutDate(
-            @Param("job") String job,
-            @Param("location") String location,
-            @Param("remote") List<String> remote,
-            @Param("type") List<String> type
-    );
-
-
-
-    @Query(value = """
-SELECT * FROM job_post_activity j
-INNER JOIN job_location l ON j.job_location_id = l.id
-INNER JOIN job_company c ON j.job_company_id = c.id
-WHERE
-    (:job IS NULL OR 
-        j.job_title LIKE %:job% OR
-        c.name LIKE %:job%
-    )
-    AND (
-        :location IS NULL OR
-        l.city LIKE %:location% OR
-        l.country LIKE %:location% OR
-        l.state LIKE %:location%
-    )
-    AND (j.job_type IN(:type))
-    AND (j.remote IN(:remote))
-    AND (posted_date >= :date)
-ORDER BY j.posted_date desc 
-""", nativeQuery = true)
-    List<JobPostActivity> search(
-            @Param("job") String job,
-            @Param("location") String location,
-            @Param("remote") List<String> remote,
-            @Param("type") List<String> type,
-            @Param("date") LocalDate searchDate
-    );
-
+    // Keyset pagination: (postedDate, jobPostId) của job cuối trang trước, cursorDate = null ở trang đầu
+    @Query(JobListItem.SELECT + """
+           FROM JobPostActivity j LEFT JOIN j.jobCompanyId c LEFT JOIN j.jobLocationId l
+           WHERE (:cursorDate IS NULL OR j.postedDate < :cursorDate
+                  OR (j.postedDate = :cursorDate AND j.jobPostId < :cursorId))
+           ORDER BY j.postedDate DESC, j.jobPostId DESC
+           """)
+    List<JobListItem> findPage(@Param("cursorDate") Date cursorDate,
+                               @Param("cursorId") int cursorId,
+                               Limit limit);
+
+    // Job do chính recruiter đăng, phân trang theo keyset
+    @Query(JobListItem.SELECT + """
+           FROM JobPostActivity j LEFT JOIN j.jobCompanyId c LEFT JOIN j.jobLocationId l
+           WHERE j.postedById.userId = :uid
+             AND (:cursorDate IS NULL OR j.postedDate < :cursorDate
+                  OR (j.postedDate = :cursorDate AND j.jobPostId < :cursorId))
+           ORDER BY j.postedDate DESC, j.jobPostId DESC
+           """)
+    List<JobListItem> findPageByOwner(@Param("uid") int uid,
+                                      @Param("cursorDate") Date cursorDate,
+                                      @Param("cursorId") int cursorId,
+                                      Limit limit);
 
 //    @Query(value = "SELECT COUNT(*) FROM job_post_activity WHERE DATE(posted_date) = CURRENT_DATE - INTERVAL 1 DAY", nativeQuery = true)
 //    long countTodayJobPosts();
-    @Query("SELECT COUNT(j) FROM JobPostActivity j WHERE DATE(j.postedDate) = CURRENT_DATE")
-    long countTodayJobPosts();
+    // So sánh theo khoảng [from, to) để dùng được index trên posted_date thay vì DATE(posted_date)
+    long countByPostedDateGreaterThanEqualAndPostedDateLessThan(Date from, Date to);
 
 //    @Query(value = """
 //SELECT COUNT(*)
@@ -95,40 +68,48 @@ ORDER BY j.posted_date desc
 //    long countApplyLast7Days();
 
 
-    // 1) Tìm kiếm chỉ theo từ khóa & địa điểm. Nếu tham số = null thì tự bỏ qua điều kiện.
-    @Query("""
-           SELECT j FROM JobPostActivity j
-           WHERE (:job IS NULL OR
-                  LOWER(j.jobTitle) LIKE LOWER(CONCAT('%', :job, '%')) OR
-                  LOWER(j.jobCompanyId.name) LIKE LOWER(CONCAT('%', :job, '%')))
-             AND (:location IS NULL OR
-                  LOWER(j.jobLocationId.city)    LIKE LOWER(CONCAT('%', :location, '%')) OR
-                  LOWER(j.jobLocationId.state)   LIKE LOWER(CONCAT('%', :location, '%')) OR
-                  LOWER(j.jobLocationId.country) LIKE LOWER(CONCAT('%', :location, '%')))
-           ORDER BY j.postedDate DESC
+    // Lấy các job theo danh sách id do JobSearchIndex trả về (đã lọc và phân trang trong index)
+    @Query(JobListItem.SELECT + """
+           FROM JobPostActivity j LEFT JOIN j.jobCompanyId c LEFT JOIN j.jobLocationId l
+           WHERE j.jobPostId IN :ids
+           ORDER BY j.postedDate DESC, j.jobPostId DESC
+           """)
+    List<JobListItem> findPageByIds(@Param("ids") Collection<Integer> ids);
+
+    // Job gợi ý cho ứng viên; thứ tự do MatchIndex quyết định nên không ORDER BY
+    @Query(JobListItem.SELECT + """
+           FROM JobPostActivity j LEFT JOIN j.jobCompanyId c LEFT JOIN j.jobLocationId l
+           WHERE j.jobPostId IN :ids
            """)
-    List<JobPostActivity> searchByKeyword(@Param("job") String job,
-                                          @Param("location") String location);
+    List<JobListItem> findItemsByIds(@Param("ids") Collection<Integer> ids);
 
-    // 2) Dùng khi cả job & location đều để trống: trả về tất cả, mới đăng trước
-    List<JobPostActivity> findAllByOrderByPostedDateDesc();
+    @Query("SELECT MAX(j.jobPostId) FROM JobPostActivity j")
+    Integer findMaxJobPostId();
 
-    // Lấy tất cả job do chính recruiter hiện tại đăng
-    List<JobPostActivity> findByPostedByIdUserIdOrderByPostedDateDesc(int userId);
+    // Trang chi tiết job (JobDetailsCache): một câu SELECT, không nạp entity
+    @Query("""
+           SELECT new com.luv2code.jobportal.entity.JobDetails(
+                  j.jobPostId, u.userId, j.jobTitle, j.descriptionOfJob, j.jobType, j.remote, j.salary, j.postedDate,
+                  j.field, j.number, j.certificateRequired, j.experienceRequired,
+                  c.id, c.name, c.logo, l.city, l.state, l.country)
+           FROM JobPostActivity j LEFT JOIN j.postedById u LEFT JOIN j.jobCompanyId c LEFT JOIN j.jobLocationId l
+           WHERE j.jobPostId = :id
+           """)
+    Optional<JobDetails> findDetailsById(@Param("id") int jobPostId);
 
-    // Tìm kiếm trong phạm vi job của chính recruiter theo keyword + location
+    // MatchIndex đọc job theo từng khoảng id
     @Query("""
-    SELECT j FROM JobPostActivity j
-    WHERE j.postedById.userId = :uid
-      AND (:job IS NULL OR LOWER(j.jobTitle) LIKE LOWER(CONCAT('%', :job, '%')))
-      AND (:loc IS NULL OR
-             LOWER(j.jobLocationId.city)    LIKE LOWER(CONCAT('%', :loc, '%')) OR
-             LOWER(j.jobLocationId.state)   LIKE LOWER(CONCAT('%', :loc, '%')) OR
-             LOWER(j.jobLocationId.country) LIKE LOWER(CONCAT('%', :loc, '%')))
-    ORDER BY j.postedDate DESC
-""")
-    List<JobPostActivity> searchOwn(@Param("uid") int uid,
-                                    @Param("job") String job,
-                                    @Param("loc") String location);
+           SELECT new com.luv2code.jobportal.entity.JobMatchRow(
+                  j.jobPostId, j.jobTitle, j.field, j.descriptionOfJob, j.experienceRequired, j.certificateRequired)
+           FROM JobPostActivity j
+           WHERE j.jobPostId BETWEEN :from AND :to
+           ORDER BY j.jobPostId
+           """)
+    List<JobMatchRow> findMatchRows(@Param("from") int from, @Param("to") int to);
+
+    // JobSearchIndex.rebuild() đọc toàn bộ bảng, tránh mỗi job một câu SELECT cho quan hệ EAGER
+    @Override
+    @EntityGraph(JobPostActivity.LIST_GRAPH)
+    List<JobPostActivity> findAll();
 
 }
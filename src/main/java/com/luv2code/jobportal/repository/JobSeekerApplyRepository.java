@@ -1,24 +1,58 @@
 package com.luv2code.jobportal.repository;
 
+import com.luv2code.jobportal.entity.JobListItem;
 import com.luv2code.jobportal.entity.JobPostActivity;
 import com.luv2code.jobportal.entity.JobSeekerApply;
 import com.luv2code.jobportal.entity.JobSeekerProfile;
+import jakarta.persistence.QueryHint;
 import jakarta.persistence.criteria.CriteriaBuilder;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface JobSeekerApplyRepository extends JpaRepository<JobSeekerApply, Integer> {
 
-    List<JobSeekerApply> findByUserId(JobSeekerProfile userId);
-
+    // Danh sách ứng viên ở trang chi tiết job: kèm profile và tài khoản của ứng viên
+    @EntityGraph(attributePaths = {"userId", "userId.userId", "userId.userId.userTypeId"})
     List<JobSeekerApply> findByJob(JobPostActivity job);
 
+    // Id người đã ứng tuyển, đọc dần theo fetch size để xếp hạng mà không nạp entity (cần transaction đang mở).
+    // Với MySQL chỉ đọc dần khi URL có useCursorFetch=true (xem application.properties)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.userId.userAccountId FROM JobSeekerApply a WHERE a.job.jobPostId = :jobId")
+    Stream<Integer> streamApplicantIds(@Param("jobId") int jobPostId);
+
+    // Một trang ứng viên đã xếp hạng: chỉ các đơn của những người trong trang
+    @EntityGraph(attributePaths = {"userId", "userId.userId", "userId.userId.userTypeId"})
+    List<JobSeekerApply> findByJobAndUserIdUserAccountIdIn(JobPostActivity job, Collection<Integer> userAccountIds);
+
+    // Dùng unique (user_id, job) nên chỉ là một lần tra index
+    boolean existsByUserIdAndJob(JobSeekerProfile userId, JobPostActivity job);
+
+    // Chỉ lấy id các job ứng viên đã nộp (không hydrate entity)
+    @Query("SELECT a.job.jobPostId FROM JobSeekerApply a WHERE a.userId.userAccountId = :uid")
+    List<Integer> findJobIdsByUserAccountId(@Param("uid") int userAccountId);
+
+    // Trang applied-jobs: chỉ lấy các cột hiển thị của job
+    @Query(JobListItem.SELECT + """
+           FROM JobSeekerApply a JOIN a.job j LEFT JOIN j.jobCompanyId c LEFT JOIN j.jobLocationId l
+           WHERE a.userId.userAccountId = :uid
+           ORDER BY a.id
+           """)
+    List<JobListItem> findJobItemsByUserAccountId(@Param("uid") int userAccountId);
+
     long countByJob(JobPostActivity job);
 
     // idempotent check
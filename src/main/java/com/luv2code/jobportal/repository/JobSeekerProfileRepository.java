@@ -1,7 +1,43 @@
 package com.luv2code.jobportal.repository;
 
+import com.luv2code.jobportal.entity.CandidateItem;
 import com.luv2code.jobportal.entity.JobSeekerProfile;
+import com.luv2code.jobportal.entity.SeekerSkillRow;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface JobSeekerProfileRepository extends JpaRepository<JobSeekerProfile, Integer> {
+
+    // Khóa dòng khi đổi cột file để số tham chiếu blob không bị đếm sai khi hai upload chạy cùng lúc
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM JobSeekerProfile p WHERE p.userAccountId = :id")
+    Optional<JobSeekerProfile> findForUpdate(@Param("id") int id);
+
+    @Query("SELECT MAX(p.userAccountId) FROM JobSeekerProfile p")
+    Integer findMaxUserAccountId();
+
+    // MatchIndex đọc hồ sơ theo từng khoảng id, mỗi skill một dòng
+    @Query("""
+           SELECT new com.luv2code.jobportal.entity.SeekerSkillRow(
+                  p.userAccountId, p.experience, p.certificate, s.name, s.experienceLevel, s.yearsOfExperience)
+           FROM JobSeekerProfile p LEFT JOIN p.skills s
+           WHERE p.userAccountId BETWEEN :from AND :to
+           ORDER BY p.userAccountId
+           """)
+    List<SeekerSkillRow> findSkillRows(@Param("from") int from, @Param("to") int to);
+
+    @Query("""
+           SELECT new com.luv2code.jobportal.entity.CandidateItem(
+                  p.userAccountId, p.firstName, p.lastName, p.certificate, p.experience)
+           FROM JobSeekerProfile p
+           WHERE p.userAccountId IN :ids
+           """)
+    List<CandidateItem> findCandidateItems(@Param("ids") Collection<Integer> ids);
 }
@@ -1,10 +1,13 @@
 package com.luv2code.jobportal.repository;
 
+import com.luv2code.jobportal.entity.JobListItem;
 import com.luv2code.jobportal.entity.JobPostActivity;
 import com.luv2code.jobportal.entity.JobSeekerProfile;
 import com.luv2code.jobportal.entity.JobSeekerSave;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,10 +17,20 @@ import java.util.Optional;
 @Repository
 public interface JobSeekerSaveRepository extends JpaRepository<JobSeekerSave, Integer> {
 
-    List<JobSeekerSave> findByUserId(JobSeekerProfile userAccountId);
-
     List<JobSeekerSave> findByJob(JobPostActivity job);
 
+    // Chỉ lấy id các job ứng viên đã lưu (không hydrate entity)
+    @Query("SELECT s.job.jobPostId FROM JobSeekerSave s WHERE s.userId.userAccountId = :uid")
+    List<Integer> findJobIdsByUserAccountId(@Param("uid") int userAccountId);
+
+    // Trang saved-jobs: chỉ lấy các cột hiển thị của job
+    @Query(JobListItem.SELECT + """
+           FROM JobSeekerSave s JOIN s.job j LEFT JOIN j.jobCompanyId c LEFT JOIN j.jobLocationId l
+           WHERE s.userId.userAccountId = :uid
+           ORDER BY s.id
+           """)
+    List<JobListItem> findJobItemsByUserAccountId(@Param("uid") int userAccountId);
+
     boolean existsByUserIdAndJob(JobSeekerProfile userId, JobPostActivity job);
 
     Optional<JobSeekerSave> findByUserIdAndJob(JobSeekerProfile userId, JobPostActivity job);
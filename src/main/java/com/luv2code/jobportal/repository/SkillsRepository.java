@@ -0,0 +1,7 @@
+package com.luv2code.jobportal.repository;
+
+import com.luv2code.jobportal.entity.Skills;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SkillsRepository extends JpaRepository<Skills, Integer> {
+}
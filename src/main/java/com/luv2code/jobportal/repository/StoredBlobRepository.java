@@ -0,0 +1,48 @@
+package com.luv2code.jobportal.repository;
+
+import com.luv2code.jobportal.entity.StoredBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.Optional;
+
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount + 1 WHERE b.sha256 = :key")
+    int increment(@Param("key") String key);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount - 1 WHERE b.sha256 = :key AND b.refCount > 0")
+    int decrement(@Param("key") String key);
+
+    // Lần tham chiếu đầu tiên; hai request chèn cùng lúc thì một bên lỗi khóa chính và được thử lại
+    @Modifying
+    @Transactional
+    @Query("INSERT INTO StoredBlob (sha256, size, refCount, createdAt) VALUES (:key, :size, 1, :createdAt)")
+    int insertReferenced(@Param("key") String key, @Param("size") long size, @Param("createdAt") Date createdAt);
+
+    // Dòng tạm refCount = 0 để GC giữ khóa dòng của blob chưa từng được tham chiếu; không bao giờ được commit
+    @Modifying
+    @Transactional
+    @Query("INSERT INTO StoredBlob (sha256, size, refCount, createdAt) VALUES (:key, 0, 0, :createdAt)")
+    int insertTombstone(@Param("key") String key, @Param("createdAt") Date createdAt);
+
+    // SELECT ... FOR UPDATE: increment/insertReferenced chạy song song phải chờ tới khi GC xong
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM StoredBlob b WHERE b.sha256 = :key")
+    Optional<StoredBlob> findForUpdate(@Param("key") String key);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM StoredBlob b WHERE b.sha256 = :key AND b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("key") String key);
+}
@@ -1,7 +1,17 @@
 package com.luv2code.jobportal.repository;
 
 import com.luv2code.jobportal.entity.UsersType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 public interface UsersTypeRepository extends JpaRepository<UsersType, Integer> {
+
+    // Danh sách loại tài khoản ở trang /register gần như không đổi, lấy từ query cache
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<UsersType> findAll();
 }
@@ -0,0 +1,97 @@
+package com.luv2code.jobportal.services;
+
+import com.luv2code.jobportal.entity.JobSeekerProfile;
+import com.luv2code.jobportal.entity.RecruiterProfile;
+import com.luv2code.jobportal.entity.Users;
+import com.luv2code.jobportal.repository.JobSeekerProfileRepository;
+import com.luv2code.jobportal.repository.RecruiterProfileRepository;
+import com.luv2code.jobportal.repository.UsersRepository;
+import com.luv2code.jobportal.util.CustomUserDetails;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Xác định người dùng đang đăng nhập và profile của họ, mỗi thứ chỉ truy vấn một lần cho mỗi request.
+ * userId được lấy trực tiếp từ {@link CustomUserDetails} nên không cần tra cứu theo email.
+ */
+@Component
+public class CurrentUserContext {
+
+    private static final String ATTR_PREFIX = CurrentUserContext.class.getName() + ".";
+
+    private final UsersRepository usersRepository;
+    private final RecruiterProfileRepository recruiterProfileRepository;
+    private final JobSeekerProfileRepository jobSeekerProfileRepository;
+
+    public CurrentUserContext(UsersRepository usersRepository,
+                              RecruiterProfileRepository recruiterProfileRepository,
+                              JobSeekerProfileRepository jobSeekerProfileRepository) {
+        this.usersRepository = usersRepository;
+        this.recruiterProfileRepository = recruiterProfileRepository;
+        this.jobSeekerProfileRepository = jobSeekerProfileRepository;
+    }
+
+    public boolean isAuthenticated() {
+        return currentAuthentication() != null;
+    }
+
+    public Integer getUserId() {
+        Authentication authentication = currentAuthentication();
+        if (authentication == null) return null;
+        if (authentication.getPrincipal() instanceof CustomUserDetails details) {
+            return details.getUserId();
+        }
+        return getUser().map(Users::getUserId).orElse(null);
+    }
+
+    public Optional<Users> getUser() {
+        Authentication authentication = currentAuthentication();
+        if (authentication == null) return Optional.empty();
+        return cached("user", () -> {
+            if (authentication.getPrincipal() instanceof CustomUserDetails details) {
+                return usersRepository.findById(details.getUserId());
+            }
+            return Optional.of(usersRepository.findByEmail(authentication.getName())
+                    .orElseThrow(() -> new UsernameNotFoundException("Could not found user")));
+        });
+    }
+
+    public Optional<RecruiterProfile> getRecruiterProfile() {
+        Integer userId = getUserId();
+        if (userId == null) return Optional.empty();
+        return cached("recruiterProfile", () -> recruiterProfileRepository.findById(userId));
+    }
+
+    public Optional<JobSeekerProfile> getJobSeekerProfile() {
+        Integer userId = getUserId();
+        if (userId == null) return Optional.empty();
+        return cached("jobSeekerProfile", () -> jobSeekerProfileRepository.findById(userId));
+    }
+
+    private static Authentication currentAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) return null;
+        return authentication;
+    }
+
+    // Lưu kết quả vào request attribute; ngoài request (scheduler, startup) thì truy vấn trực tiếp
+    @SuppressWarnings("unchecked")
+    private static <T> Optional<T> cached(String key, Supplier<Optional<T>> loader) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return loader.get();
+        Object value = attributes.getAttribute(ATTR_PREFIX + key, RequestAttributes.SCOPE_REQUEST);
+        if (value == null) {
+            value = loader.get();
+            attributes.setAttribute(ATTR_PREFIX + key, value, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Optional<T>) value;
+    }
+}
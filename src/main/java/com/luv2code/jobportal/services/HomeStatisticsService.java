@@ -0,0 +1,134 @@
+package com.luv2code.jobportal.services;
+
+import com.luv2code.jobportal.repository.JobPostActivityRepository;
+import com.luv2code.jobportal.repository.JobSeekerApplyRepository;
+import com.luv2code.jobportal.repository.JobSeekerProfileRepository;
+import com.luv2code.jobportal.repository.RecruiterProfileRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bộ đếm cho trang chủ, giữ trong bộ nhớ để request "/" không phải truy vấn DB.
+ * Được tăng/giảm khi có job mới, đăng ký, ứng tuyển và đối chiếu lại với DB định kỳ.
+ * Các hàm {@code on...} gọi trong transaction chỉ được áp dụng sau khi commit, transaction rollback không làm lệch số.
+ */
+@Service
+public class HomeStatisticsService {
+
+    public record Snapshot(long totalJobs, long totalRecruiters, long totalJobSeekers,
+                           long totalApplications, long jobsToday) {
+    }
+
+    // Số job đăng trong một ngày; khi sang ngày mới thì bắt đầu lại từ 0
+    private record DailyCount(LocalDate day, long count) {
+    }
+
+    private final JobPostActivityRepository jobPostActivityRepository;
+    private final RecruiterProfileRepository recruiterProfileRepository;
+    private final JobSeekerProfileRepository jobSeekerProfileRepository;
+    private final JobSeekerApplyRepository jobSeekerApplyRepository;
+
+    private final AtomicLong totalJobs = new AtomicLong();
+    private final AtomicLong totalRecruiters = new AtomicLong();
+    private final AtomicLong totalJobSeekers = new AtomicLong();
+    private final AtomicLong totalApplications = new AtomicLong();
+    private final AtomicReference<DailyCount> jobsToday = new AtomicReference<>(new DailyCount(LocalDate.now(), 0));
+
+    public HomeStatisticsService(JobPostActivityRepository jobPostActivityRepository,
+                                 RecruiterProfileRepository recruiterProfileRepository,
+                                 JobSeekerProfileRepository jobSeekerProfileRepository,
+                                 JobSeekerApplyRepository jobSeekerApplyRepository) {
+        this.jobPostActivityRepository = jobPostActivityRepository;
+        this.recruiterProfileRepository = recruiterProfileRepository;
+        this.jobSeekerProfileRepository = jobSeekerProfileRepository;
+        this.jobSeekerApplyRepository = jobSeekerApplyRepository;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(totalJobs.get(), totalRecruiters.get(), totalJobSeekers.get(),
+                totalApplications.get(), today().count());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${jobportal.stats.reconcile-interval-ms:300000}",
+            fixedDelayString = "${jobportal.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        LocalDate day = LocalDate.now();
+        long postedToday = jobPostActivityRepository.countByPostedDateGreaterThanEqualAndPostedDateLessThan(
+                startOf(day), startOf(day.plusDays(1)));
+
+        totalJobs.set(jobPostActivityRepository.count());
+        totalRecruiters.set(recruiterProfileRepository.count());
+        totalJobSeekers.set(jobSeekerProfileRepository.count());
+        totalApplications.set(jobSeekerApplyRepository.count());
+        jobsToday.set(new DailyCount(day, postedToday));
+    }
+
+    public void onJobPosted(Date postedDate) {
+        afterCommit(() -> {
+            totalJobs.incrementAndGet();
+            if (isToday(postedDate)) addToday(1);
+        });
+    }
+
+    public void onJobDeleted(Date postedDate) {
+        afterCommit(() -> {
+            totalJobs.decrementAndGet();
+            if (isToday(postedDate)) addToday(-1);
+        });
+    }
+
+    public void onUserRegistered(boolean recruiter) {
+        afterCommit(() -> {
+            if (recruiter) totalRecruiters.incrementAndGet();
+            else totalJobSeekers.incrementAndGet();
+        });
+    }
+
+    public void onApplied() {
+        afterCommit(totalApplications::incrementAndGet);
+    }
+
+    private DailyCount today() {
+        LocalDate day = LocalDate.now();
+        return jobsToday.updateAndGet(current -> current.day().equals(day) ? current : new DailyCount(day, 0));
+    }
+
+    private void addToday(long delta) {
+        LocalDate day = LocalDate.now();
+        jobsToday.updateAndGet(current -> current.day().equals(day)
+                ? new DailyCount(day, Math.max(0, current.count() + delta))
+                : new DailyCount(day, Math.max(0, delta)));
+    }
+
+    private static boolean isToday(Date date) {
+        return date != null && date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().equals(LocalDate.now());
+    }
+
+    private static Date startOf(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.luv2code.jobportal.services;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.luv2code.jobportal.entity.JobDetails;
+import com.luv2code.jobportal.repository.JobPostActivityRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Cache {@link JobDetails} cho trang chi tiết job. Trạng thái đã ứng tuyển/đã lưu không nằm ở đây mà được kiểm tra
+ * bằng truy vấn exists theo (ứng viên, job), nên cache chỉ bị xóa khi job được sửa hoặc xóa (sau khi commit).
+ * Giá trị là record bất biến tạo thẳng từ truy vấn (không phải entity), nên dùng chung giữa các luồng được.
+ * Kích thước và hit/miss xem ở metric {@code cache.*} với tag cache=jobDetails.
+ * Cache lưu future thay vì giá trị để truy vấn DB không chạy bên trong compute của ConcurrentHashMap
+ * (đang giữ khóa synchronized, sẽ ghim virtual thread vào carrier trong suốt lúc chờ DB).
+ */
+@Component
+public class JobDetailsCache implements MeterBinder {
+
+    private final JobPostActivityRepository jobPostActivityRepository;
+    private final AsyncCache<Integer, JobDetails> cache;
+
+    public JobDetailsCache(JobPostActivityRepository jobPostActivityRepository,
+                           @Value("${jobportal.job-details-cache.max-size:10000}") long maxSize,
+                           @Value("${jobportal.job-details-cache.ttl:10m}") Duration ttl) {
+        this.jobPostActivityRepository = jobPostActivityRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl) // phòng khi DB bị sửa ngoài ứng dụng
+                .recordStats()
+                .buildAsync();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "jobDetails");
+    }
+
+    public JobDetails get(int jobPostId) {
+        CompletableFuture<JobDetails> cached = cache.getIfPresent(jobPostId);
+        if (cached == null) {
+            // request đầu tiên tự nạp job trên luồng của mình, các request đồng thời cho cùng job chờ chung future đó
+            CompletableFuture<JobDetails> loading = new CompletableFuture<>();
+            cached = cache.asMap().putIfAbsent(jobPostId, loading);
+            if (cached == null) return load(jobPostId, loading);
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public void invalidate(Integer jobPostId) {
+        if (jobPostId == null) return;
+        cache.synchronous().invalidate(jobPostId);
+        // xóa lại sau commit để không giữ bản được nạp lại trong lúc transaction chưa xong
+        afterCommit(() -> cache.synchronous().invalidate(jobPostId));
+    }
+
+    private JobDetails load(int jobPostId, CompletableFuture<JobDetails> loading) {
+        try {
+            JobDetails job = load(jobPostId);
+            loading.complete(job);
+            return job;
+        } catch (RuntimeException e) {
+            cache.asMap().remove(jobPostId, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private JobDetails load(int jobPostId) {
+        return jobPostActivityRepository.findDetailsById(jobPostId)
+                .orElseThrow(() -> new RuntimeException("Job not found"));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -1,41 +1,93 @@
 package com.luv2code.jobportal.services;
 
 import com.luv2code.jobportal.entity.*;
+import com.luv2code.jobportal.repository.JobCompanyRepository;
 import com.luv2code.jobportal.repository.JobPostActivityRepository;
-import com.luv2code.jobportal.repository.JobSeekerApplyRepository;
-import com.luv2code.jobportal.repository.JobSeekerSaveRepository;
+import com.luv2code.jobportal.services.files.BlobService;
+import com.luv2code.jobportal.services.matching.MatchIndex;
+import com.luv2code.jobportal.services.search.FacetCounts;
+import com.luv2code.jobportal.services.search.JobSearchIndex;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 
 @Service
+@Timed("jobportal.service")
 public class JobPostActivityService {
 
+    // Số job tối đa trên một trang dashboard / global-search
+    public static final int PAGE_SIZE = 20;
+
     private final JobPostActivityRepository jobPostActivityRepository;
-    private final JobSeekerApplyRepository jobSeekerApplyRepository;
-    private final JobSeekerSaveRepository jobSeekerSaveRepository;
+    private final SeekerInteractionService seekerInteractionService;
     private final UsersService usersService; // để kiểm tra quyền sở hữu & lấy profile hiện tại
+    private final JobSearchIndex jobSearchIndex;
+    private final MatchIndex matchIndex;
+    private final HomeStatisticsService homeStatisticsService;
+    private final JobDetailsCache jobDetailsCache;
+    private final JobCompanyRepository jobCompanyRepository;
+    private final BlobService blobService;
 
     public JobPostActivityService(JobPostActivityRepository jobPostActivityRepository,
-                                  JobSeekerApplyRepository jobSeekerApplyRepository,
-                                  JobSeekerSaveRepository jobSeekerSaveRepository,
-                                  UsersService usersService) {
+                                  SeekerInteractionService seekerInteractionService,
+                                  UsersService usersService,
+                                  JobSearchIndex jobSearchIndex,
+                                  MatchIndex matchIndex,
+                                  HomeStatisticsService homeStatisticsService,
+                                  JobDetailsCache jobDetailsCache,
+                                  JobCompanyRepository jobCompanyRepository,
+                                  BlobService blobService) {
         this.jobPostActivityRepository = jobPostActivityRepository;
-        this.jobSeekerApplyRepository = jobSeekerApplyRepository;
-        this.jobSeekerSaveRepository = jobSeekerSaveRepository;
+        this.seekerInteractionService = seekerInteractionService;
         this.usersService = usersService;
+        this.jobSearchIndex = jobSearchIndex;
+        this.matchIndex = matchIndex;
+        this.homeStatisticsService = homeStatisticsService;
+        this.jobDetailsCache = jobDetailsCache;
+        this.jobCompanyRepository = jobCompanyRepository;
+        this.blobService = blobService;
     }
 
 
 
     @Transactional
     public JobPostActivity addNew(JobPostActivity jobPostActivity) {
-        return jobPostActivityRepository.save(jobPostActivity);
+        boolean isNew = jobPostActivity.getJobPostId() == null;
+        JobPostActivity saved = jobPostActivityRepository.save(jobPostActivity);
+        jobSearchIndex.index(saved);
+        matchIndex.index(saved);
+        if (!isNew) jobDetailsCache.invalidate(saved.getJobPostId());
+        if (isNew) homeStatisticsService.onJobPosted(saved.getPostedDate());
+        return saved;
+    }
+
+    // Gọi từ UploadPipeline sau khi logo đã vào kho blob
+    @Transactional
+    public void updateCompanyLogo(int jobPostId, int companyId, String logoRef) {
+        jobCompanyRepository.findForUpdate(companyId).ifPresent(company -> {
+            blobService.replace(company.getLogo(), logoRef);
+            company.setLogo(logoRef);
+        });
+        jobDetailsCache.invalidate(jobPostId);
+    }
+
+    // Job cho trang chi tiết, lấy từ cache
+    public JobDetails getCachedOne(int id) {
+        return jobDetailsCache.get(id);
+    }
+
+    // Tham chiếu chỉ mang id (không SELECT), để truyền vào các truy vấn theo job
+    public JobPostActivity getReference(int id) {
+        return jobPostActivityRepository.getReferenceById(id);
     }
 
     public JobPostActivity getOne(int id) {
@@ -43,42 +95,61 @@ public class JobPostActivityService {
                 .orElseThrow(() -> new RuntimeException("Job not found"));
     }
 
-    public List<JobPostActivity> getAll() {
-        return jobPostActivityRepository.findAllByOrderByPostedDateDesc();
+    // Trang job mới nhất; after = null để lấy trang đầu
+    public JobPage getAll(JobCursor after) {
+        return JobPage.of(jobPostActivityRepository.findPage(cursorDate(after), cursorId(after), pageLimit()), PAGE_SIZE);
     }
 
 
-    public List<JobPostActivity> search(String job,
-                                        String location,
-                                        List<String> type,
-                                        List<String> remote,
-                                        LocalDate searchDate) {
+    // type/remote null hoặc rỗng = không lọc theo nhóm đó
+    public JobPage search(String job,
+                          String location,
+                          Collection<JobType> type,
+                          Collection<RemoteType> remote,
+                          LocalDate searchDate,
+                          JobCursor after) {
 
         // Chuẩn hóa input
         String kw = StringUtils.hasText(job) ? job.trim() : null;
         String loc = StringUtils.hasText(location) ? location.trim() : null;
 
-        List<String> types = (type == null) ? List.of() : filtered(type);
-        List<String> remotes = (remote == null) ? List.of() : filtered(remote);
+        // Từ khóa, địa điểm và bộ lọc đều được giải quyết bằng index, DB chỉ đọc các job của trang theo id
+        List<Integer> ids = jobSearchIndex.page(kw, loc, type, remote, searchDate,
+                cursorDate(after), cursorId(after), PAGE_SIZE + 1);
+        if (ids.isEmpty()) return JobPage.empty();
+        return JobPage.of(jobPostActivityRepository.findPageByIds(ids), PAGE_SIZE);
+    }
 
-        // Gọi repo đúng chữ ký
-        return (searchDate == null)
-                ? jobPostActivityRepository.searchWithoutDate(kw, loc, remotes, types)
-                : jobPostActivityRepository.search(kw, loc, remotes, types, searchDate);
+    // Số job cho từng ô lọc với cùng điều kiện như search()
+    public FacetCounts facets(String job,
+                              String location,
+                              Collection<JobType> type,
+                              Collection<RemoteType> remote,
+                              LocalDate searchDate) {
+        String kw = StringUtils.hasText(job) ? job.trim() : null;
+        String loc = StringUtils.hasText(location) ? location.trim() : null;
+        return jobSearchIndex.facets(kw, loc, type, remote, searchDate);
+    }
+
+    private static Date cursorDate(JobCursor after) {
+        return after == null ? null : after.postedDate();
     }
 
-    private static List<String> filtered(List<String> in) {
-        return in.stream()
-                .filter(Objects::nonNull)
-                .map(String::trim)
-                .filter(StringUtils::hasText)
-                .distinct()
-                .toList();
+    private static int cursorId(JobCursor after) {
+        return after == null ? 0 : after.jobPostId();
+    }
+
+    // Lấy dư một phần tử để biết còn trang sau hay không
+    private static Limit pageLimit() {
+        return Limit.of(PAGE_SIZE + 1);
     }
 
     public List<RecruiterJobsDto> getRecruiterJobs(int recruiter) {
-        List<IRecruiterJobs> rows = jobPostActivityRepository.getRecruiterJobs(recruiter);
-        List<RecruiterJobsDto> out = new ArrayList<>();
+        return toRecruiterJobs(jobPostActivityRepository.getRecruiterJobs(recruiter));
+    }
+
+    static List<RecruiterJobsDto> toRecruiterJobs(List<IRecruiterJobs> rows) {
+        List<RecruiterJobsDto> out = new ArrayList<>(rows.size());
         for (IRecruiterJobs rec : rows) {
             JobLocation loc = new JobLocation(rec.getLocationId(), rec.getCity(), rec.getState(), rec.getCountry());
             JobCompany comp = new JobCompany(rec.getCompanyId(), rec.getName(), "");
@@ -93,25 +164,28 @@ public class JobPostActivityService {
         return out;
     }
 
-    // Lấy toàn bộ job do recruiter hiện tại đăng (để hiển thị mặc định danh sách)
-    public List<JobPostActivity> getRecruiterOwnJobs() {
+    // Lấy job do recruiter hiện tại đăng (để hiển thị mặc định danh sách), theo từng trang
+    public JobPage getRecruiterOwnJobs(JobCursor after) {
         Users u = usersService.getCurrentUser();
         if (u == null) {
             throw new SecurityException("Bạn chưa đăng nhập.");
         }
-        return jobPostActivityRepository
-                .findByPostedByIdUserIdOrderByPostedDateDesc(u.getUserId());
+        return JobPage.of(jobPostActivityRepository
+                .findPageByOwner(u.getUserId(), cursorDate(after), cursorId(after), pageLimit()), PAGE_SIZE);
     }
 
 
-    public List<JobPostActivity> searchRecruiterOwn(String job, String location) {
+    public JobPage searchRecruiterOwn(String job, String location, JobCursor after) {
         Users u = usersService.getCurrentUser();
         if (u == null) {
             throw new SecurityException("Bạn chưa đăng nhập.");
         }
         String j = (job == null || job.isBlank()) ? null : job.trim();
         String l = (location == null || location.isBlank()) ? null : location.trim();
-        return jobPostActivityRepository.searchOwn(u.getUserId(), j, l);
+        // index trả về tối đa một trang (+1) id, giống search()
+        List<Integer> ids = jobSearchIndex.pageOwn(u.getUserId(), j, l, cursorDate(after), cursorId(after), PAGE_SIZE + 1);
+        if (ids.isEmpty()) return JobPage.empty();
+        return JobPage.of(jobPostActivityRepository.findPageByIds(ids), PAGE_SIZE);
     }
 
 
@@ -125,6 +199,14 @@ public class JobPostActivityService {
             throw new SecurityException("Bạn không có quyền sửa job này");
         }
 
+        // công ty của job: khóa dòng rồi chỉ đổi tên; logo chỉ đổi qua UploadPipeline (số tham chiếu blob phải khớp với DB).
+        // Khóa trước khi sửa job: câu SELECT ... FOR UPDATE sẽ flush job
+        if (job.getJobCompanyId() != null && form.getJobCompanyId() != null) {
+            jobCompanyRepository.findForUpdate(job.getJobCompanyId().getId())
+                    .ifPresent(company -> company.setName(form.getJobCompanyId().getName()));
+        } else if (form.getJobCompanyId() != null) {
+            job.setJobCompanyId(new JobCompany(null, form.getJobCompanyId().getName(), null));
+        }
 
         job.setJobTitle(form.getJobTitle());
         job.setJobType(form.getJobType());
@@ -132,7 +214,6 @@ public class JobPostActivityService {
         job.setSalary(form.getSalary());
         job.setDescriptionOfJob(form.getDescriptionOfJob());
         job.setJobLocationId(form.getJobLocationId());
-        job.setJobCompanyId(form.getJobCompanyId());
         job.setExperienceRequired(form.getExperienceRequired());
         job.setCertificateRequired(form.getCertificateRequired());
         job.setField(form.getField());
@@ -140,6 +221,9 @@ public class JobPostActivityService {
 
 
         jobPostActivityRepository.save(job);
+        jobSearchIndex.index(job);
+        matchIndex.index(job);
+        jobDetailsCache.invalidate(id);
     }
 
 
@@ -152,44 +236,10 @@ public class JobPostActivityService {
             throw new SecurityException("Bạn không có quyền xóa job này");
         }
         jobPostActivityRepository.delete(job); // DB đã bật FK ON DELETE CASCADE thì sẽ tự xóa apply/save
-    }
-
-
-    public List<JobPostActivity> searchOnly(String job, String location) {
-        String j = (job == null || job.isBlank()) ? null : job.trim();
-        String l = (location == null || location.isBlank()) ? null : location.trim();
-
-        List<JobPostActivity> result = (j == null && l == null)
-                ? jobPostActivityRepository.findAllByOrderByPostedDateDesc()
-                : jobPostActivityRepository.searchByKeyword(j, l);
-
-
-        return decorateWithUserFlags(result);
-    }
-
-
-    private List<JobPostActivity> decorateWithUserFlags(List<JobPostActivity> jobs) {
-        if (jobs == null || jobs.isEmpty()) return jobs;
-
-        Object profile = usersService.getCurrentUserProfile();
-        if (profile instanceof JobSeekerProfile jobSeeker) {
-            // lấy danh sách apply & save của ứng viên hiện tại
-            List<JobSeekerApply> applied = jobSeekerApplyRepository.findByUserId(jobSeeker);
-            List<JobSeekerSave> saved = jobSeekerSaveRepository.findByUserId(jobSeeker);
-
-            for (JobPostActivity job : jobs) {
-                boolean isApplied = applied.stream()
-                        .anyMatch(a -> a.getJob() != null
-                                && a.getJob().getJobPostId() == job.getJobPostId());
-                boolean isSaved = saved.stream()
-                        .anyMatch(s -> s.getJob() != null
-                                && s.getJob().getJobPostId() == job.getJobPostId());
-
-                job.setIsActive(isApplied);
-                job.setIsSaved(isSaved);
-            }
-        }
-
-        return jobs;
+        if (job.getJobCompanyId() != null) blobService.release(job.getJobCompanyId().getLogo()); // công ty bị xóa theo job
+        jobSearchIndex.remove(id);
+        matchIndex.removeJob(id);
+        jobDetailsCache.invalidate(id);
+        homeStatisticsService.onJobDeleted(job.getPostedDate());
     }
 }
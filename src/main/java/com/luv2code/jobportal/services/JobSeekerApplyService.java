@@ -1,33 +1,105 @@
 package com.luv2code.jobportal.services;
 
+import com.luv2code.jobportal.entity.JobListItem;
 import com.luv2code.jobportal.entity.JobPostActivity;
 import com.luv2code.jobportal.entity.JobSeekerApply;
 import com.luv2code.jobportal.entity.JobSeekerProfile;
 import com.luv2code.jobportal.repository.JobSeekerApplyRepository;
+import com.luv2code.jobportal.services.matching.Match;
+import com.luv2code.jobportal.services.matching.MatchIndex;
+import com.luv2code.jobportal.services.metrics.DomainMetrics;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.*;
+import java.util.stream.Stream;
 
 @Service
+@Timed("jobportal.service")
 public class JobSeekerApplyService {
 
     private final JobSeekerApplyRepository jobSeekerApplyRepository;
+    private final HomeStatisticsService homeStatisticsService;
+    private final DomainMetrics domainMetrics;
+    private final MatchIndex matchIndex;
+
+    // Số ứng viên trên một trang danh sách ở trang chi tiết job
+    public static final int APPLICANT_PAGE_SIZE = 20;
 
     @Autowired
-    public JobSeekerApplyService(JobSeekerApplyRepository jobSeekerApplyRepository) {
+    public JobSeekerApplyService(JobSeekerApplyRepository jobSeekerApplyRepository, HomeStatisticsService homeStatisticsService,
+                                 DomainMetrics domainMetrics, MatchIndex matchIndex) {
         this.jobSeekerApplyRepository = jobSeekerApplyRepository;
+        this.homeStatisticsService = homeStatisticsService;
+        this.domainMetrics = domainMetrics;
+        this.matchIndex = matchIndex;
     }
 
-    public List<JobSeekerApply> getCandidatesJobs(JobSeekerProfile userAccountId) {
-        return jobSeekerApplyRepository.findByUserId(userAccountId);
+    public List<JobListItem> getAppliedJobs(JobSeekerProfile userAccountId) {
+        if (userAccountId == null) return List.of();
+        return jobSeekerApplyRepository.findJobItemsByUserAccountId(userAccountId.getUserAccountId());
     }
 
     public List<JobSeekerApply> getJobCandidates(JobPostActivity job) {
         return jobSeekerApplyRepository.findByJob(job);
     }
 
+    /**
+     * Một trang ứng viên xếp theo độ khớp với job, kèm phần trăm khớp theo userAccountId.
+     */
+    public record RankedApplicants(Page<JobSeekerApply> page, Map<Integer, Integer> percent) {
+    }
+
+    // Đọc dần id người ứng tuyển, chấm điểm bằng MatchIndex và chỉ giữ heap các ứng viên tới hết trang cần xem;
+    // chỉ các đơn trong trang đó mới được nạp kèm profile
+    @Transactional(readOnly = true)
+    public RankedApplicants getRankedCandidates(JobPostActivity job, int page) {
+        long total = jobSeekerApplyRepository.countByJob(job);
+        int lastPage = (int) Math.max(0, (total - 1) / APPLICANT_PAGE_SIZE);
+        int number = Math.min(Math.max(page, 0), lastPage);
+        PageRequest pageable = PageRequest.of(number, APPLICANT_PAGE_SIZE);
+        if (total == 0) return new RankedApplicants(Page.empty(pageable), Map.of());
+
+        MatchIndex.Ranker ranker = matchIndex.ranker(job.getJobPostId(), (number + 1) * APPLICANT_PAGE_SIZE);
+        try (Stream<Integer> ids = jobSeekerApplyRepository.streamApplicantIds(job.getJobPostId())) {
+            ids.forEach(ranker::add);
+        }
+        List<Match> ranked = ranker.result();
+        List<Match> onPage = ranked.subList(Math.min((int) pageable.getOffset(), ranked.size()), ranked.size());
+
+        List<Integer> seekerIds = new ArrayList<>(onPage.size());
+        for (Match match : onPage) seekerIds.add(match.id());
+        Map<Integer, JobSeekerApply> bySeeker = new HashMap<>();
+        for (JobSeekerApply apply : jobSeekerApplyRepository.findByJobAndUserIdUserAccountIdIn(job, seekerIds)) {
+            bySeeker.put(apply.getUserId().getUserAccountId(), apply);
+        }
+        List<JobSeekerApply> content = new ArrayList<>(onPage.size());
+        Map<Integer, Integer> percent = new HashMap<>();
+        for (Match match : onPage) {
+            JobSeekerApply apply = bySeeker.get(match.id());
+            if (apply == null) continue; // đơn vừa bị xóa
+            content.add(apply);
+            percent.put(match.id(), match.percent());
+        }
+        return new RankedApplicants(new PageImpl<>(content, pageable, ranker.count()), percent);
+    }
+
+    public boolean hasApplied(JobSeekerProfile user, JobPostActivity job) {
+        if (user == null || job == null) return false;
+        return jobSeekerApplyRepository.existsByUserIdAndJob(user, job);
+    }
+
     public void addNew(JobSeekerApply jobSeekerApply) {
+        boolean isNew = jobSeekerApply.getId() == null;
         jobSeekerApplyRepository.save(jobSeekerApply);
+        if (isNew) {
+            homeStatisticsService.onApplied();
+            domainMetrics.applied();
+        }
     }
 }
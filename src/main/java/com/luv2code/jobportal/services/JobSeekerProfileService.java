@@ -1,44 +1,96 @@
 package com.luv2code.jobportal.services;
 
 import com.luv2code.jobportal.entity.JobSeekerProfile;
-import com.luv2code.jobportal.entity.Users;
+import com.luv2code.jobportal.entity.Skills;
 import com.luv2code.jobportal.repository.JobSeekerProfileRepository;
-import com.luv2code.jobportal.repository.UsersRepository;
-import org.springframework.security.authentication.AnonymousAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import com.luv2code.jobportal.repository.SkillsRepository;
+import com.luv2code.jobportal.services.files.BlobService;
+import com.luv2code.jobportal.services.matching.MatchIndex;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class JobSeekerProfileService {
 
     private final JobSeekerProfileRepository jobSeekerProfileRepository;
-    private final UsersRepository usersRepository;
+    private final CurrentUserContext currentUserContext;
+    private final BlobService blobService;
+    private final MatchIndex matchIndex;
+    private final SkillsRepository skillsRepository;
 
-    public JobSeekerProfileService(JobSeekerProfileRepository jobSeekerProfileRepository, UsersRepository usersRepository) {
+    public JobSeekerProfileService(JobSeekerProfileRepository jobSeekerProfileRepository, CurrentUserContext currentUserContext,
+                                   BlobService blobService, MatchIndex matchIndex, SkillsRepository skillsRepository) {
         this.jobSeekerProfileRepository = jobSeekerProfileRepository;
-        this.usersRepository = usersRepository;
+        this.currentUserContext = currentUserContext;
+        this.blobService = blobService;
+        this.matchIndex = matchIndex;
+        this.skillsRepository = skillsRepository;
     }
 
     public Optional<JobSeekerProfile> getOne(Integer id) {
         return jobSeekerProfileRepository.findById(id);
     }
 
-    public JobSeekerProfile addNew(JobSeekerProfile jobSeekerProfile) {
-        return jobSeekerProfileRepository.save(jobSeekerProfile);
+    // Lưu form profile lên dòng đã khóa; ảnh và CV chỉ đổi qua UploadPipeline nên không chép từ form
+    @Transactional
+    public JobSeekerProfile updateFromForm(int userAccountId, JobSeekerProfile form) {
+        JobSeekerProfile profile = jobSeekerProfileRepository.findForUpdate(userAccountId)
+                .orElseThrow(() -> new IllegalStateException("Job seeker profile not found: " + userAccountId));
+        profile.setFirstName(form.getFirstName());
+        profile.setLastName(form.getLastName());
+        profile.setCity(form.getCity());
+        profile.setState(form.getState());
+        profile.setCountry(form.getCountry());
+        profile.setExperience(form.getExperience());
+        profile.setCertificate(form.getCertificate());
+
+        // skill đã có của profile thì sửa tại chỗ, còn lại là skill mới (merge skill rời sẽ cascade ngược vào profile)
+        Map<Integer, Skills> current = new HashMap<>();
+        for (Skills skill : profile.getSkills()) current.put(skill.getId(), skill);
+        List<Skills> skills = new ArrayList<>();
+        if (form.getSkills() != null) {
+            for (Skills input : form.getSkills()) {
+                Skills skill = input.getId() != null ? current.get(input.getId()) : null;
+                if (skill == null) {
+                    skill = skillsRepository.save(new Skills(null, input.getName(), input.getExperienceLevel(),
+                            input.getYearsOfExperience(), profile));
+                } else {
+                    skill.setName(input.getName());
+                    skill.setExperienceLevel(input.getExperienceLevel());
+                    skill.setYearsOfExperience(input.getYearsOfExperience());
+                }
+                skills.add(skill);
+            }
+        }
+        profile.setSkills(skills);
+        matchIndex.index(profile);
+        return profile;
     }
 
-    public JobSeekerProfile getCurrentSeekerProfile() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (!(authentication instanceof AnonymousAuthenticationToken)) {
-            String currentUsername = authentication.getName();
-            Users users = usersRepository.findByEmail(currentUsername).orElseThrow(() -> new UsernameNotFoundException("User not found"));
-            Optional<JobSeekerProfile> seekerProfile = getOne(users.getUserId());
-            return seekerProfile.orElse(null);
-        } else return null;
+    // Gọi từ UploadPipeline sau khi file đã vào kho blob
+    @Transactional
+    public void updateProfilePhoto(int userAccountId, String fileRef) {
+        jobSeekerProfileRepository.findForUpdate(userAccountId).ifPresent(profile -> {
+            blobService.replace(profile.getProfilePhoto(), fileRef);
+            profile.setProfilePhoto(fileRef);
+        });
+    }
 
+    @Transactional
+    public void updateResume(int userAccountId, String fileRef) {
+        jobSeekerProfileRepository.findForUpdate(userAccountId).ifPresent(profile -> {
+            blobService.replace(profile.getResume(), fileRef);
+            profile.setResume(fileRef);
+        });
+    }
+
+    public JobSeekerProfile getCurrentSeekerProfile() {
+        return currentUserContext.getJobSeekerProfile().orElse(null);
     }
 }
@@ -1,9 +1,12 @@
 package com.luv2code.jobportal.services;
 
+import com.luv2code.jobportal.entity.JobListItem;
 import com.luv2code.jobportal.entity.JobPostActivity;
 import com.luv2code.jobportal.entity.JobSeekerProfile;
 import com.luv2code.jobportal.entity.JobSeekerSave;
 import com.luv2code.jobportal.repository.JobSeekerSaveRepository;
+import com.luv2code.jobportal.services.metrics.DomainMetrics;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
@@ -12,23 +15,25 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
+@Timed("jobportal.service")
 public class JobSeekerSaveService {
 
     private final JobSeekerSaveRepository jobSeekerSaveRepository;
+    private final DomainMetrics domainMetrics;
 
-    public JobSeekerSaveService(JobSeekerSaveRepository jobSeekerSaveRepository) {
+    public JobSeekerSaveService(JobSeekerSaveRepository jobSeekerSaveRepository, DomainMetrics domainMetrics) {
         this.jobSeekerSaveRepository = jobSeekerSaveRepository;
+        this.domainMetrics = domainMetrics;
     }
 
 
 
     @Transactional(readOnly = true)
-    public List<JobSeekerSave> getCandidatesJob(JobSeekerProfile userProfile) {
+    public List<JobListItem> getSavedJobs(JobSeekerProfile userProfile) {
         if (userProfile == null) return Collections.emptyList();
-        return jobSeekerSaveRepository.findByUserId(userProfile);
+        return jobSeekerSaveRepository.findJobItemsByUserAccountId(userProfile.getUserAccountId());
     }
 
     @Transactional(readOnly = true)
@@ -41,9 +46,7 @@ public class JobSeekerSaveService {
     @Transactional(readOnly = true)
     public Set<Integer> getSavedJobIdsForUser(JobSeekerProfile userProfile) {
         if (userProfile == null) return Collections.emptySet();
-        return jobSeekerSaveRepository.findByUserId(userProfile).stream()
-                .map(s -> s.getJob().getJobPostId())
-                .collect(Collectors.toSet());
+        return Set.copyOf(jobSeekerSaveRepository.findJobIdsByUserAccountId(userProfile.getUserAccountId()));
     }
 
 
@@ -67,7 +70,9 @@ public class JobSeekerSaveService {
         if (existing.isPresent()) {
             return existing.get(); // đã lưu trước đó → không tạo trùng
         }
-        return jobSeekerSaveRepository.save(save);
+        JobSeekerSave saved = jobSeekerSaveRepository.save(save);
+        domainMetrics.saved();
+        return saved;
     }
 
 
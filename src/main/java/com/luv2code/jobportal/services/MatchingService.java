@@ -0,0 +1,81 @@
+package com.luv2code.jobportal.services;
+
+import com.luv2code.jobportal.entity.CandidateItem;
+import com.luv2code.jobportal.entity.JobListItem;
+import com.luv2code.jobportal.entity.JobPostActivity;
+import com.luv2code.jobportal.entity.JobSeekerProfile;
+import com.luv2code.jobportal.repository.JobPostActivityRepository;
+import com.luv2code.jobportal.repository.JobSeekerProfileRepository;
+import com.luv2code.jobportal.services.matching.Match;
+import com.luv2code.jobportal.services.matching.MatchIndex;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Việc làm gợi ý cho ứng viên và ứng viên phù hợp cho recruiter: thứ hạng lấy từ {@link MatchIndex},
+ * DB chỉ được dùng để lấy các cột hiển thị của đúng những id đó (một câu SELECT).
+ */
+@Service
+@Timed("jobportal.service")
+public class MatchingService {
+
+    private final MatchIndex matchIndex;
+    private final JobPostActivityRepository jobPostActivityRepository;
+    private final JobSeekerProfileRepository jobSeekerProfileRepository;
+
+    public MatchingService(MatchIndex matchIndex,
+                           JobPostActivityRepository jobPostActivityRepository,
+                           JobSeekerProfileRepository jobSeekerProfileRepository) {
+        this.matchIndex = matchIndex;
+        this.jobPostActivityRepository = jobPostActivityRepository;
+        this.jobSeekerProfileRepository = jobSeekerProfileRepository;
+    }
+
+    /**
+     * Danh sách theo thứ hạng kèm phần trăm khớp theo id (jobPostId hoặc userAccountId).
+     */
+    public record Ranked<T>(List<T> items, Map<Integer, Integer> percent) {
+
+        static <T> Ranked<T> empty() {
+            return new Ranked<>(List.of(), Map.of());
+        }
+    }
+
+    public Ranked<JobListItem> recommendedJobs(JobSeekerProfile seeker, int limit) {
+        if (seeker == null || seeker.getUserAccountId() == null) return Ranked.empty();
+        List<Match> matches = matchIndex.recommendJobs(seeker.getUserAccountId(), limit);
+        if (matches.isEmpty()) return Ranked.empty();
+        return ranked(matches, jobPostActivityRepository.findItemsByIds(ids(matches)), JobListItem::jobPostId);
+    }
+
+    public Ranked<CandidateItem> topCandidates(JobPostActivity job, int limit) {
+        if (job == null || job.getJobPostId() == null) return Ranked.empty();
+        List<Match> matches = matchIndex.topCandidates(job.getJobPostId(), limit);
+        if (matches.isEmpty()) return Ranked.empty();
+        return ranked(matches, jobSeekerProfileRepository.findCandidateItems(ids(matches)), CandidateItem::userAccountId);
+    }
+
+    private static List<Integer> ids(List<Match> matches) {
+        List<Integer> ids = new ArrayList<>(matches.size());
+        for (Match match : matches) ids.add(match.id());
+        return ids;
+    }
+
+    // Sắp lại kết quả DB theo thứ hạng; id đã bị xóa khỏi DB nhưng index chưa kịp cập nhật thì bỏ qua
+    private static <T> Ranked<T> ranked(List<Match> matches, List<T> rows, Function<T, Integer> id) {
+        Map<Integer, T> byId = new HashMap<>();
+        for (T row : rows) byId.put(id.apply(row), row);
+        List<T> items = new ArrayList<>(matches.size());
+        Map<Integer, Integer> percent = new HashMap<>();
+        for (Match match : matches) {
+            T row = byId.get(match.id());
+            if (row == null) continue;
+            items.add(row);
+            percent.put(match.id(), match.percent());
+        }
+        return new Ranked<>(items, percent);
+    }
+}
@@ -1,15 +1,11 @@
 package com.luv2code.jobportal.services;
 
 import com.luv2code.jobportal.entity.RecruiterProfile;
-import com.luv2code.jobportal.entity.Users;
 import com.luv2code.jobportal.repository.RecruiterProfileRepository;
-import com.luv2code.jobportal.repository.UsersRepository;
+import com.luv2code.jobportal.services.files.BlobService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AnonymousAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -17,29 +13,45 @@ import java.util.Optional;
 public class RecruiterProfileService {
 
     private final RecruiterProfileRepository recruiterRepository;
-    private final UsersRepository usersRepository;
+    private final CurrentUserContext currentUserContext;
+    private final BlobService blobService;
 
     @Autowired
-    public RecruiterProfileService(RecruiterProfileRepository recruiterRepository, UsersRepository usersRepository) {
+    public RecruiterProfileService(RecruiterProfileRepository recruiterRepository, CurrentUserContext currentUserContext,
+                                   BlobService blobService) {
         this.recruiterRepository = recruiterRepository;
-        this.usersRepository = usersRepository;
+        this.currentUserContext = currentUserContext;
+        this.blobService = blobService;
     }
 
     public Optional<RecruiterProfile> getOne(Integer id) {
         return recruiterRepository.findById(id);
     }
 
-    public RecruiterProfile addNew(RecruiterProfile recruiterProfile) {
-        return recruiterRepository.save(recruiterProfile);
+    // Lưu form profile lên dòng đã khóa; ảnh chỉ đổi qua UploadPipeline nên không chép từ form
+    @Transactional
+    public RecruiterProfile updateFromForm(int userAccountId, RecruiterProfile form) {
+        RecruiterProfile profile = recruiterRepository.findForUpdate(userAccountId)
+                .orElseThrow(() -> new IllegalStateException("Recruiter profile not found: " + userAccountId));
+        profile.setFirstName(form.getFirstName());
+        profile.setLastName(form.getLastName());
+        profile.setCity(form.getCity());
+        profile.setState(form.getState());
+        profile.setCountry(form.getCountry());
+        profile.setCompany(form.getCompany());
+        return profile;
+    }
+
+    // Gọi từ UploadPipeline sau khi file đã vào kho blob
+    @Transactional
+    public void updateProfilePhoto(int userAccountId, String fileRef) {
+        recruiterRepository.findForUpdate(userAccountId).ifPresent(profile -> {
+            blobService.replace(profile.getProfilePhoto(), fileRef);
+            profile.setProfilePhoto(fileRef);
+        });
     }
 
     public RecruiterProfile getCurrentRecruiterProfile() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (!(authentication instanceof AnonymousAuthenticationToken)) {
-            String currentUsername = authentication.getName();
-            Users users = usersRepository.findByEmail(currentUsername).orElseThrow(() -> new UsernameNotFoundException("User not found"));
-            Optional<RecruiterProfile> recruiterProfile = getOne(users.getUserId());
-            return recruiterProfile.orElse(null);
-        } else return null;
+        return currentUserContext.getRecruiterProfile().orElse(null);
     }
 }
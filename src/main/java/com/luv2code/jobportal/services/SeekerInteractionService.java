@@ -0,0 +1,62 @@
+package com.luv2code.jobportal.services;
+
+import com.luv2code.jobportal.entity.JobListItem;
+import com.luv2code.jobportal.entity.JobSeekerProfile;
+import com.luv2code.jobportal.repository.JobSeekerApplyRepository;
+import com.luv2code.jobportal.repository.JobSeekerSaveRepository;
+import com.luv2code.jobportal.util.IntHashSet;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tập job đã ứng tuyển / đã lưu của một ứng viên, dùng để gắn cờ isActive/isSaved cho danh sách job
+ * với chi phí O(1) mỗi job thay vì duyệt toàn bộ danh sách apply/save.
+ */
+@Service
+public class SeekerInteractionService {
+
+    private final JobSeekerApplyRepository jobSeekerApplyRepository;
+    private final JobSeekerSaveRepository jobSeekerSaveRepository;
+
+    public SeekerInteractionService(JobSeekerApplyRepository jobSeekerApplyRepository,
+                                    JobSeekerSaveRepository jobSeekerSaveRepository) {
+        this.jobSeekerApplyRepository = jobSeekerApplyRepository;
+        this.jobSeekerSaveRepository = jobSeekerSaveRepository;
+    }
+
+    public record Interactions(IntHashSet applied, IntHashSet saved) {
+
+        static Interactions empty() {
+            return new Interactions(new IntHashSet(), new IntHashSet());
+        }
+
+        public boolean hasApplied(Integer jobPostId) {
+            return jobPostId != null && applied.contains(jobPostId);
+        }
+
+        public boolean hasSaved(Integer jobPostId) {
+            return jobPostId != null && saved.contains(jobPostId);
+        }
+
+        // JobListItem là record nên trả về danh sách mới đã gắn cờ
+        public List<JobListItem> withFlags(List<JobListItem> jobs) {
+            List<JobListItem> out = new ArrayList<>(jobs.size());
+            for (JobListItem job : jobs) {
+                out.add(job.withFlags(hasApplied(job.jobPostId()), hasSaved(job.jobPostId())));
+            }
+            return out;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Interactions forSeeker(JobSeekerProfile seeker) {
+        if (seeker == null || seeker.getUserAccountId() == null) return Interactions.empty();
+        int uid = seeker.getUserAccountId();
+        return new Interactions(
+                IntHashSet.of(jobSeekerApplyRepository.findJobIdsByUserAccountId(uid)),
+                IntHashSet.of(jobSeekerSaveRepository.findJobIdsByUserAccountId(uid)));
+    }
+}
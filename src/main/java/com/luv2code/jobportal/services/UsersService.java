@@ -6,6 +6,8 @@ import com.luv2code.jobportal.entity.Users;
 import com.luv2code.jobportal.repository.JobSeekerProfileRepository;
 import com.luv2code.jobportal.repository.RecruiterProfileRepository;
 import com.luv2code.jobportal.repository.UsersRepository;
+import com.luv2code.jobportal.services.metrics.DomainMetrics;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -19,19 +21,26 @@ import java.util.Date;
 import java.util.Optional;
 
 @Service
+@Timed("jobportal.service")
 public class UsersService {
 
     private final UsersRepository usersRepository;
     private final JobSeekerProfileRepository jobSeekerProfileRepository;
     private final RecruiterProfileRepository recruiterProfileRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CurrentUserContext currentUserContext;
+    private final HomeStatisticsService homeStatisticsService;
+    private final DomainMetrics domainMetrics;
 
     @Autowired
-    public UsersService(UsersRepository usersRepository, JobSeekerProfileRepository jobSeekerProfileRepository, RecruiterProfileRepository recruiterProfileRepository, PasswordEncoder passwordEncoder) {
+    public UsersService(UsersRepository usersRepository, JobSeekerProfileRepository jobSeekerProfileRepository, RecruiterProfileRepository recruiterProfileRepository, PasswordEncoder passwordEncoder, CurrentUserContext currentUserContext, HomeStatisticsService homeStatisticsService, DomainMetrics domainMetrics) {
         this.usersRepository = usersRepository;
         this.jobSeekerProfileRepository = jobSeekerProfileRepository;
         this.recruiterProfileRepository = recruiterProfileRepository;
         this.passwordEncoder = passwordEncoder;
+        this.currentUserContext = currentUserContext;
+        this.homeStatisticsService = homeStatisticsService;
+        this.domainMetrics = domainMetrics;
     }
 
     public Users addNew(Users users) {
@@ -47,6 +56,8 @@ public class UsersService {
         else {
             jobSeekerProfileRepository.save(new JobSeekerProfile(savedUser));
         }
+        homeStatisticsService.onUserRegistered(userTypeId == 1);
+        domainMetrics.registered(userTypeId == 1);
 
         return savedUser;
     }
@@ -56,15 +67,10 @@ public class UsersService {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (!(authentication instanceof AnonymousAuthenticationToken)) {
-            String username = authentication.getName();
-            Users users = usersRepository.findByEmail(username).orElseThrow(()-> new UsernameNotFoundException("Could not found " + "user"));
-            int userId = users.getUserId();
             if (authentication.getAuthorities().contains(new SimpleGrantedAuthority("Recruiter"))) {
-                RecruiterProfile recruiterProfile = recruiterProfileRepository.findById(userId).orElse(new RecruiterProfile());
-                return recruiterProfile;
+                return currentUserContext.getRecruiterProfile().orElse(new RecruiterProfile());
             } else {
-                JobSeekerProfile jobSeekerProfile = jobSeekerProfileRepository.findById(userId).orElse(new JobSeekerProfile());
-                return jobSeekerProfile;
+                return currentUserContext.getJobSeekerProfile().orElse(new JobSeekerProfile());
             }
         }
 
@@ -73,11 +79,8 @@ public class UsersService {
 
     public Users getCurrentUser() {
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (!(authentication instanceof AnonymousAuthenticationToken)) {
-            String username = authentication.getName();
-            Users user = usersRepository.findByEmail(username).orElseThrow(() -> new UsernameNotFoundException("Could not found " + "user"));
-            return user;
+        if (currentUserContext.isAuthenticated()) {
+            return currentUserContext.getUser().orElseThrow(() -> new UsernameNotFoundException("Could not found " + "user"));
         }
 
         return null;
@@ -0,0 +1,55 @@
+package com.luv2code.jobportal.services.files;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Resolver cho /blobs/{sha256}/{tên}: trả về blob trong {@link BlobStore}. Tên chỉ dùng để chọn Content-Type.
+ */
+public class BlobResourceResolver implements ResourceResolver {
+
+    private final BlobStore blobStore;
+
+    public BlobResourceResolver(BlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath,
+                                    List<? extends Resource> locations, ResourceResolverChain chain) {
+        int slash = requestPath.indexOf('/');
+        if (slash < 0) return null;
+        Path file = blobStore.locate(requestPath.substring(0, slash));
+        return file == null ? null : resource(file, UriUtils.decode(requestPath.substring(slash + 1), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return null;
+    }
+
+    /**
+     * File trên đĩa, Content-Type theo {@code name} nếu đó là ảnh. Các loại khác (kể cả SVG, có thể chứa script)
+     * được trả về dạng application/octet-stream để không chạy được trong trang của mình.
+     */
+    static Resource resource(Path file, String name) {
+        MediaType type = MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        boolean image = "image".equals(type.getType()) && !type.getSubtype().contains("svg");
+        return new FileSystemResource(file) {
+            @Override
+            public String getFilename() {
+                return image ? name : "blob.bin";
+            }
+        };
+    }
+}
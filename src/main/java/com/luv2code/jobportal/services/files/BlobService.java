@@ -0,0 +1,144 @@
+package com.luv2code.jobportal.services.files;
+
+import com.luv2code.jobportal.entity.StoredBlob;
+import com.luv2code.jobportal.repository.StoredBlobRepository;
+import com.luv2code.jobportal.util.BlobRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Lưu file upload vào {@link BlobStore} và đếm số tham chiếu từ các cột file trong DB.
+ * Mỗi lần một cột đổi giá trị thì gọi {@link #replace} trong cùng transaction với lần cập nhật đó.
+ */
+@Service
+public class BlobService {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobService.class);
+
+    private final BlobStore blobStore;
+    private final StoredBlobRepository storedBlobRepository;
+    private final Duration gcGrace;
+    // mỗi blob được GC trong một transaction riêng (gọi nội bộ nên @Transactional không có tác dụng)
+    private final TransactionTemplate transactions;
+
+    public BlobService(BlobStore blobStore, StoredBlobRepository storedBlobRepository,
+                       @Value("${jobportal.blobs.gc-grace:1h}") Duration gcGrace,
+                       PlatformTransactionManager transactionManager) {
+        this.blobStore = blobStore;
+        this.storedBlobRepository = storedBlobRepository;
+        this.gcGrace = gcGrace;
+        this.transactions = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Đưa file vào kho; trả về giá trị để ghi vào cột file ({@link BlobRef}).
+     */
+    public String store(Path file, String originalName) throws IOException {
+        return BlobRef.of(blobStore.put(file), originalName).toString();
+    }
+
+    public Path locate(BlobRef ref) {
+        return blobStore.locate(ref.key());
+    }
+
+    // Cột file đổi từ oldValue sang newValue; giá trị cũ chỉ có tên file (không phải blob) được bỏ qua
+    @Transactional
+    public void replace(String oldValue, String newValue) {
+        if (Objects.equals(oldValue, newValue)) return;
+        retain(newValue);
+        release(oldValue);
+    }
+
+    @Transactional
+    public void release(String value) {
+        BlobRef ref = BlobRef.parse(value);
+        if (ref != null) storedBlobRepository.decrement(ref.key());
+    }
+
+    private void retain(String value) {
+        BlobRef ref = BlobRef.parse(value);
+        if (ref == null || storedBlobRepository.increment(ref.key()) > 0) return;
+        Path path = blobStore.locate(ref.key());
+        if (path == null) throw new IllegalStateException("Blob not found: " + ref.key());
+        try {
+            storedBlobRepository.insertReferenced(ref.key(), Files.size(path), new Date());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Xóa blob không còn được tham chiếu. Blob mới ghi hoặc vừa được dùng lại trong khoảng gc-grace được giữ lại,
+     * vì số tham chiếu chỉ tăng sau khi file đã vào kho. Danh sách quét chỉ là ứng viên: thời điểm ghi được
+     * kiểm tra lại và file bị xóa trong lúc đang giữ khóa dòng stored_blob của blob đó.
+     */
+    @Scheduled(initialDelayString = "${jobportal.blobs.gc-interval-ms:21600000}",
+            fixedDelayString = "${jobportal.blobs.gc-interval-ms:21600000}")
+    public int collectGarbage() {
+        Instant cutoff = Instant.now().minus(gcGrace);
+        List<String> candidates = new ArrayList<>();
+        try {
+            blobStore.forEach((key, modified) -> {
+                if (modified.isBefore(cutoff)) candidates.add(key);
+            });
+        } catch (IOException e) {
+            log.warn("Không duyệt được kho blob", e);
+            return 0;
+        }
+
+        int deleted = 0;
+        for (String key : candidates) {
+            try {
+                if (Boolean.TRUE.equals(transactions.execute(status -> collect(key, cutoff, status)))) deleted++;
+            } catch (DataIntegrityViolationException e) {
+                // retain chèn dòng đầu tiên cùng lúc với dòng tạm của GC: blob vừa được tham chiếu
+                log.debug("Bỏ qua blob {} vừa được tham chiếu", key);
+            } catch (UncheckedIOException e) {
+                log.warn("Không xóa được blob {}", key, e);
+            }
+        }
+        if (deleted > 0) log.info("GC kho blob: đã xóa {} blob", deleted);
+        return deleted;
+    }
+
+    // Khóa dòng của blob (chèn dòng tạm nếu chưa có) rồi mới kiểm tra lại thời điểm ghi và xóa file:
+    // retain chạy song song phải chờ transaction này, put chạy song song thì bị LocalBlobStore chặn theo khóa blob
+    private boolean collect(String key, Instant cutoff, TransactionStatus status) {
+        Optional<StoredBlob> blob = storedBlobRepository.findForUpdate(key);
+        if (blob.isPresent() && blob.get().getRefCount() > 0) return false;
+        if (blob.isEmpty()) storedBlobRepository.insertTombstone(key, new Date());
+        boolean deleted;
+        try {
+            deleted = blobStore.deleteIfOlder(key, cutoff);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (deleted) {
+            storedBlobRepository.deleteIfUnreferenced(key);
+        } else {
+            // blob vừa được put lại: giữ nguyên, bỏ dòng tạm
+            status.setRollbackOnly();
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,37 @@
+package com.luv2code.jobportal.services.files;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.function.BiConsumer;
+
+/**
+ * Kho file đánh địa chỉ theo nội dung: khóa là SHA-256 (hex) của file, nội dung giống nhau chỉ lưu một lần
+ * và một blob không bao giờ bị ghi đè. Số tham chiếu được giữ ở bảng stored_blob (xem {@link BlobService}).
+ */
+public interface BlobStore {
+
+    /**
+     * Đưa file vào kho và trả về khóa. File nguồn được chuyển vào kho hoặc bị xóa nếu blob đã có;
+     * gọi lại với cùng file sau khi lỗi là an toàn.
+     */
+    String put(Path file) throws IOException;
+
+    /**
+     * Đường dẫn blob trên đĩa, null nếu không có.
+     */
+    Path locate(String key);
+
+    /**
+     * Xóa blob nếu lần ghi/dùng lại gần nhất vẫn trước {@code cutoff}. Việc kiểm tra và xóa không chạy xen với
+     * {@link #put} cùng khóa: put chạy song song hoặc làm blob mới lại (không bị xóa), hoặc ghi lại blob sau khi xóa.
+     *
+     * @return true nếu đã xóa
+     */
+    boolean deleteIfOlder(String key, Instant cutoff) throws IOException;
+
+    /**
+     * Duyệt mọi blob trong kho cùng thời điểm ghi/dùng lại gần nhất, dùng cho GC.
+     */
+    void forEach(BiConsumer<String, Instant> action) throws IOException;
+}
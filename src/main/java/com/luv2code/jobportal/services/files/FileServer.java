@@ -0,0 +1,158 @@
+package com.luv2code.jobportal.services.files;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+/**
+ * Gửi file trên đĩa về client: hỗ trợ Range (một khoảng), ETag/Last-Modified (304) và đúng Content-Type.
+ * Nội dung được gửi bằng sendfile của Tomcat nếu connector hỗ trợ, nếu không thì bằng FileChannel.transferTo,
+ * không đọc file vào bộ nhớ heap.
+ */
+@Component
+public class FileServer {
+
+    // Các request attribute mà Tomcat dùng cho sendfile (xem org.apache.coyote.Constants)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Ghép {@code name} vào thư mục {@code base}; trả về null nếu tên rỗng hoặc đường dẫn thoát ra ngoài base.
+     */
+    public static Path resolveInside(Path base, String name) {
+        if (name == null || name.isBlank()) return null;
+        Path root = base.toAbsolutePath().normalize();
+        Path file = root.resolve(name).normalize();
+        return file.startsWith(root) && !file.equals(root) ? file : null;
+    }
+
+    /**
+     * ETag mạnh theo kích thước và thời điểm sửa (tới giây) của file, dùng chung cho các resource handler;
+     * null (không gửi ETag) nếu không đọc được thuộc tính file.
+     */
+    public static String etag(Resource resource) {
+        try {
+            return etag(resource.contentLength(), resource.lastModified() / 1000 * 1000);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String etag(long length, long lastModified) {
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    /**
+     * @param downloadName tên file trong Content-Disposition: attachment; null để trình duyệt hiển thị trực tiếp
+     */
+    public void serve(Path file, String downloadName,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "File not found");
+            return;
+        }
+        if (!attributes.isRegularFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "File not found");
+            return;
+        }
+
+        long length = attributes.size();
+        // Last-Modified chỉ chính xác tới giây
+        long lastModified = attributes.lastModifiedTime().toMillis() / 1000 * 1000;
+        String etag = etag(length, lastModified);
+
+        // Đặt ETag/Last-Modified; trả 304 nếu client đã có bản này
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) return;
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, etag, lastModified)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // Nhiều khoảng (multipart/byteranges) ít gặp với PDF, trả cả file như được phép theo RFC 9110
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    if (start >= length || start > end) throw new IllegalArgumentException("Range not satisfiable");
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        // Đặt sau khi kiểm tra Range để trang lỗi 416 không bị gán Content-Type của file
+        String name = downloadName != null ? downloadName : file.getFileName().toString();
+        response.setContentType(MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (downloadName != null) {
+            // filename* (RFC 5987) chỉ cần khi tên có ký tự ngoài ASCII, ví dụ tên file tiếng Việt
+            ContentDisposition.Builder disposition = ContentDisposition.attachment();
+            if (StandardCharsets.US_ASCII.newEncoder().canEncode(downloadName)) disposition.filename(downloadName);
+            else disposition.filename(downloadName, StandardCharsets.UTF_8);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.build().toString());
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (count <= 0 || "HEAD".equals(request.getMethod())) return;
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat gửi file sau khi servlet trả về; end không bao gồm
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long sent = channel.transferTo(position, end + 1 - position, out);
+                if (sent <= 0) break;
+                position += sent;
+            }
+        }
+    }
+
+    // If-Range: chỉ áp dụng Range khi client đang giữ đúng phiên bản file
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) return true;
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) return ifRange.equals(etag);
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) == lastModified;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
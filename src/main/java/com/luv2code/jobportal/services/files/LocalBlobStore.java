@@ -0,0 +1,152 @@
+package com.luv2code.jobportal.services.files;
+
+import com.luv2code.jobportal.util.BlobRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * {@link BlobStore} trên ổ đĩa cục bộ, chia thư mục theo 2 cấp của khóa: {@code blobs/ab/cd/abcd...}
+ * để không thư mục nào chứa quá nhiều file.
+ */
+@Component
+public class LocalBlobStore implements BlobStore {
+
+    private final Path root;
+    // khóa theo blob (chia 64 phần theo khóa): put và deleteIfOlder trên cùng blob không chạy xen nhau.
+    // ReentrantLock thay cho synchronized để virtual thread không bị ghim khi chờ I/O
+    private final Lock[] locks = new Lock[64];
+
+    public LocalBlobStore(@Value("${jobportal.blobs.dir:blobs}") String root) throws IOException {
+        this.root = Files.createDirectories(Paths.get(root).toAbsolutePath().normalize());
+        for (int i = 0; i < locks.length; i++) locks[i] = new ReentrantLock();
+    }
+
+    @Override
+    public String put(Path file) throws IOException {
+        String key = sha256(file);
+        Lock lock = lock(key);
+        lock.lock();
+        try {
+            write(key, file);
+        } finally {
+            lock.unlock();
+        }
+        return key;
+    }
+
+    private void write(String key, Path file) throws IOException {
+        Path target = path(key);
+        if (Files.exists(target)) {
+            // đã có blob này: đánh dấu vừa dùng để GC không xóa trước khi kịp tăng số tham chiếu
+            Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            Files.delete(file);
+            return;
+        }
+
+        Path dir = Files.createDirectories(target.getParent());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        try {
+            // cùng ổ đĩa: chỉ là đổi tên, file nguồn còn nguyên cho tới khi đổi tên xong
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Path staging = dir.resolve("." + key + ".part");
+            Files.copy(file, staging, StandardCopyOption.REPLACE_EXISTING);
+            try (FileChannel channel = FileChannel.open(staging, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.delete(file);
+        }
+        syncDirectory(dir);
+    }
+
+    @Override
+    public Path locate(String key) {
+        if (!BlobRef.isKey(key)) return null;
+        Path path = path(key);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    @Override
+    public boolean deleteIfOlder(String key, Instant cutoff) throws IOException {
+        if (!BlobRef.isKey(key)) return false;
+        Lock lock = lock(key);
+        lock.lock();
+        try {
+            Path path = path(key);
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                return false;
+            }
+            if (!attributes.lastModifiedTime().toInstant().isBefore(cutoff)) return false;
+            Files.delete(path);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, Instant> action) throws IOException {
+        try (Stream<Path> files = Files.find(root, 3, (path, attributes) -> attributes.isRegularFile()
+                && BlobRef.isKey(path.getFileName().toString()))) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                action.accept(file.getFileName().toString(), attributes.lastModifiedTime().toInstant());
+            }
+        }
+    }
+
+    private Lock lock(String key) {
+        return locks[Integer.parseInt(key, 0, 2, 16) & (locks.length - 1)];
+    }
+
+    private Path path(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Ghi lại entry của thư mục; không phải hệ điều hành nào cũng cho mở thư mục (Windows)
+    private static void syncDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+        }
+    }
+}
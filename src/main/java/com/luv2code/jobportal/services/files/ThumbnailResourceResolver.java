@@ -0,0 +1,54 @@
+package com.luv2code.jobportal.services.files;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Resolver cho /photos/thumbs/{size}/{kind}/{id}/{version}/{file}: tạo ảnh thu nhỏ nếu cần rồi trả về file trên đĩa.
+ * Phần version là khóa blob nếu ảnh nằm trong kho blob, còn lại chỉ để đổi URL khi ảnh gốc đổi.
+ */
+public class ThumbnailResourceResolver implements ResourceResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailResourceResolver.class);
+
+    private final ThumbnailService thumbnails;
+
+    public ThumbnailResourceResolver(ThumbnailService thumbnails) {
+        this.thumbnails = thumbnails;
+    }
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath,
+                                    List<? extends Resource> locations, ResourceResolverChain chain) {
+        String[] parts = requestPath.split("/", 5);
+        if (parts.length != 5) return null;
+        try {
+            int size = Integer.parseInt(parts[0]);
+            int ownerId = Integer.parseInt(parts[2]);
+            String fileName = UriUtils.decode(parts[4], StandardCharsets.UTF_8);
+            Path file = thumbnails.variant(parts[1], ownerId, parts[3], fileName, size);
+            return file == null ? null : BlobResourceResolver.resource(file, file.startsWith(thumbnails.getCacheDir())
+                    ? file.getFileName().toString() : fileName);
+        } catch (NumberFormatException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Không tạo được ảnh thu nhỏ cho {}", requestPath, e);
+            return null;
+        }
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return null;
+    }
+}
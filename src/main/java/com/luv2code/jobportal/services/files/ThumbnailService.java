@@ -0,0 +1,188 @@
+package com.luv2code.jobportal.services.files;
+
+import com.luv2code.jobportal.util.BlobRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Ảnh thu nhỏ cho ảnh đại diện và logo công ty. Ảnh được tạo khi có request đầu tiên (ImageIO),
+ * lưu ở thư mục cache trên đĩa và phục vụ qua /photos/thumbs/** (xem {@link ThumbnailResourceResolver}).
+ * URL chứa thời điểm sửa của ảnh gốc nên có thể cache vĩnh viễn ở trình duyệt: upload ảnh mới sẽ đổi URL.
+ * Dùng trong template: {@code ${@thumbnails.url('company', id, logo, 128)}}.
+ */
+@Component("thumbnails")
+public class ThumbnailService {
+
+    public static final String URL_PREFIX = "/photos/thumbs/";
+
+    private static final Path SOURCE_DIR = Paths.get("photos");
+    private static final Set<String> KINDS = Set.of("candidate", "recruiter", "company");
+    // ảnh lớn hơn ngưỡng này không được giải mã (tránh hết heap), trả nguyên ảnh gốc
+    private static final long MAX_SOURCE_PIXELS = 40_000_000L;
+
+    private final BlobStore blobStore;
+    private final Path cacheDir;
+    private final Set<Integer> sizes;
+
+    public ThumbnailService(BlobStore blobStore,
+                            @Value("${jobportal.thumbnails.dir:thumbs}") String cacheDir,
+                            @Value("${jobportal.thumbnails.sizes:64,128,256}") String sizes) {
+        this.blobStore = blobStore;
+        this.cacheDir = Paths.get(cacheDir).toAbsolutePath().normalize();
+        this.sizes = Stream.of(sizes.split(",")).map(String::trim).map(Integer::valueOf).collect(Collectors.toUnmodifiableSet());
+    }
+
+    public Path getCacheDir() {
+        return cacheDir;
+    }
+
+    /**
+     * URL ảnh thu nhỏ (cạnh dài nhất tối đa {@code size} px); nếu không có ảnh gốc thì trả về đường dẫn ảnh gốc như trước.
+     */
+    public String url(String kind, Integer ownerId, String fileName, int size) {
+        BlobRef blob = BlobRef.parse(fileName);
+        if (blob != null) {
+            // blob không bao giờ đổi nội dung: khóa cũng là version
+            if (ownerId == null || !KINDS.contains(kind) || !sizes.contains(size)) return blob.url();
+            return URL_PREFIX + size + "/" + kind + "/" + ownerId + "/" + blob.key()
+                    + "/" + UriUtils.encodePathSegment(blob.name(), StandardCharsets.UTF_8);
+        }
+        String original = "/photos/" + kind + "/" + ownerId + "/" + fileName;
+        if (ownerId == null || !KINDS.contains(kind) || !sizes.contains(size)) return original;
+        Path source = source(kind, ownerId, fileName);
+        if (source == null) return original;
+        FileTime modified;
+        try {
+            modified = Files.getLastModifiedTime(source);
+        } catch (IOException e) {
+            return original;
+        }
+        return URL_PREFIX + size + "/" + kind + "/" + ownerId + "/" + Long.toHexString(modified.toMillis())
+                + "/" + UriUtils.encodePathSegment(fileName, StandardCharsets.UTF_8);
+    }
+
+    // Giá trị cho srcset: ảnh size px cho màn hình thường, 2*size px cho màn hình mật độ cao
+    public String srcset(String kind, Integer ownerId, String fileName, int size) {
+        String url = url(kind, ownerId, fileName, size);
+        if (!url.startsWith(URL_PREFIX) || !sizes.contains(size * 2)) return url;
+        return url + " 1x, " + url(kind, ownerId, fileName, size * 2) + " 2x";
+    }
+
+    /**
+     * File ảnh thu nhỏ trên đĩa, tạo mới nếu chưa có hoặc ảnh gốc đã thay đổi.
+     * {@code version} là khóa blob nếu ảnh nằm trong {@link BlobStore}, còn lại chỉ để đổi URL và được bỏ qua.
+     * Trả về chính ảnh gốc nếu ImageIO không đọc được định dạng đó; null nếu không có ảnh gốc.
+     */
+    public Path variant(String kind, int ownerId, String version, String fileName, int size) throws IOException {
+        if (!KINDS.contains(kind) || !sizes.contains(size)) return null;
+        boolean png = keepsAlpha(fileName);
+        String extension = png ? ".png" : ".jpg";
+
+        Path source;
+        Path target;
+        if (BlobRef.isKey(version)) {
+            // ảnh thu nhỏ của blob dùng chung cho mọi chủ sở hữu có cùng nội dung
+            source = blobStore.locate(version);
+            target = cacheDir.resolve(size + "/blobs/" + version + extension);
+        } else {
+            source = source(kind, ownerId, fileName);
+            target = FileServer.resolveInside(cacheDir.resolve(size + "/" + kind + "/" + ownerId), fileName + extension);
+        }
+        if (source == null || target == null) return null;
+        FileTime sourceModified = Files.getLastModifiedTime(source);
+        if (Files.exists(target) && Files.getLastModifiedTime(target).compareTo(sourceModified) >= 0) return target;
+
+        BufferedImage image = read(source);
+        if (image == null) return source;
+        BufferedImage scaled = scale(image, size, png);
+
+        // ghi ra file tạm rồi đổi tên: request đồng thời không bao giờ đọc phải ảnh ghi dở
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling("." + UUID.randomUUID() + ".tmp");
+        try {
+            if (!ImageIO.write(scaled, png ? "png" : "jpg", temp.toFile())) return source;
+            Files.setLastModifiedTime(temp, sourceModified);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return target;
+    }
+
+    private static Path source(String kind, int ownerId, String fileName) {
+        Path source = FileServer.resolveInside(SOURCE_DIR.resolve(kind).resolve(String.valueOf(ownerId)), fileName);
+        return source != null && Files.isRegularFile(source) ? source : null;
+    }
+
+    // PNG/GIF có thể trong suốt nên giữ PNG, còn lại lưu JPEG cho nhẹ
+    private static boolean keepsAlpha(String fileName) {
+        String name = fileName.toLowerCase();
+        return name.endsWith(".png") || name.endsWith(".gif");
+    }
+
+    private static BufferedImage read(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_SOURCE_PIXELS) return null;
+                return reader.read(0);
+            } catch (IOException | RuntimeException e) {
+                // ví dụ JPEG CMYK: ImageIO không giải mã được, dùng ảnh gốc
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Thu nhỏ từng nửa một rồi mới tới kích thước cuối: nội suy bilinear một bước từ ảnh rất lớn bị răng cưa
+    private static BufferedImage scale(BufferedImage image, int size, boolean alpha) {
+        double ratio = Math.min(1.0, (double) size / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+        BufferedImage current = image;
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2, alpha);
+        }
+        return draw(current, width, height, alpha);
+    }
+
+    private static BufferedImage draw(BufferedImage image, int width, int height, boolean alpha) {
+        BufferedImage result = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = result.createGraphics();
+        try {
+            if (!alpha) {
+                // JPEG không có kênh alpha: nền trắng thay cho phần trong suốt
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, height);
+            }
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,128 @@
+package com.luv2code.jobportal.services.files;
+
+import com.luv2code.jobportal.util.BlobRef;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
+
+/**
+ * Ghi file upload ra khỏi luồng request: request chỉ chuyển file multipart sang thư mục spool rồi trả về,
+ * còn việc đưa file vào {@link BlobStore} và cập nhật cột file trong DB chạy trên một executor giới hạn.
+ * Khi hàng đợi đầy, luồng request tự chạy tác vụ (CallerRunsPolicy) để không nhận thêm việc quá sức.
+ */
+@Component
+public class UploadPipeline implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadPipeline.class);
+
+    private final BlobService blobService;
+    private final Path spoolDir;
+    private final int maxAttempts;
+    private final ThreadPoolTaskExecutor executor;
+
+    public UploadPipeline(BlobService blobService,
+                          @Value("${jobportal.upload.spool-dir:${java.io.tmpdir}/jobportal-uploads}") String spoolDir,
+                          @Value("${jobportal.upload.threads:2}") int threads,
+                          @Value("${jobportal.upload.queue-capacity:100}") int queueCapacity,
+                          @Value("${jobportal.upload.max-attempts:3}") int maxAttempts,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) throws IOException {
+        this.blobService = blobService;
+        this.spoolDir = Files.createDirectories(Paths.get(spoolDir));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-");
+        // số luồng vẫn giới hạn như cũ (để không ghi đĩa quá nhiều file cùng lúc), chỉ đổi loại luồng
+        executor.setVirtualThreads(virtualThreads);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("jobportal.upload.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Số file upload đang chờ đưa vào kho blob").register(registry);
+        Gauge.builder("jobportal.upload.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Số file upload đang được xử lý").register(registry);
+    }
+
+    /**
+     * Spool file rồi xếp hàng để đưa vào kho blob; {@code onStored} nhận giá trị {@link BlobRef}
+     * sau khi file đã nằm trên đĩa (dùng để cập nhật DB).
+     *
+     * @return false nếu không có file hoặc tên file không hợp lệ
+     */
+    public boolean submit(MultipartFile file, Consumer<String> onStored) throws IOException {
+        if (file == null || file.isEmpty()) return false;
+        String name = StringUtils.getFilename(StringUtils.cleanPath(Objects.requireNonNullElse(file.getOriginalFilename(), "")));
+        if (!StringUtils.hasText(name)) return false;
+
+        // Tomcat đã ghi part ra đĩa nên transferTo thường chỉ là đổi tên file
+        // không dùng createTempFile: file đó chỉ có quyền 600, file upload cần đọc được như file tĩnh bình thường
+        Path spooled = spoolDir.resolve("upload-" + UUID.randomUUID() + ".part");
+        try {
+            file.transferTo(spooled);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+        executor.execute(() -> finish(spooled, name, onStored));
+        return true;
+    }
+
+    // BlobStore.put chạy lại được với cùng file; khi file đã vào kho thì chỉ thử lại bước cập nhật DB
+    private void finish(Path spooled, String name, Consumer<String> onStored) {
+        String ref = null;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (ref == null) ref = blobService.store(spooled, name);
+                onStored.accept(ref);
+                return;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts) {
+                    log.error("Không lưu được file upload {} sau {} lần thử", name, attempt, e);
+                    deleteQuietly(spooled);
+                    return;
+                }
+                log.warn("Lưu file upload {} thất bại (lần {}), thử lại", name, attempt, e);
+                try {
+                    Thread.sleep(200L * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    deleteQuietly(spooled);
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
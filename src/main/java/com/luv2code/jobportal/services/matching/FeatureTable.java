@@ -0,0 +1,75 @@
+package com.luv2code.jobportal.services.matching;
+
+import java.util.Arrays;
+
+/**
+ * Vector đặc trưng của một phía (job hoặc ứng viên), lưu theo cột trong các mảng nguyên thủy đánh chỉ số
+ * bằng chính id trong DB (id tự tăng nên mảng gần như dày đặc). Term của mỗi vector tăng dần.
+ */
+final class FeatureTable {
+
+    private static final int[] NO_TERMS = new int[0];
+    private static final float[] NO_WEIGHTS = new float[0];
+
+    int[][] terms = new int[0][];
+    float[][] weights = new float[0][];
+    float[] norms = new float[0];
+    float[] years = new float[0];
+    byte[] certificates = new byte[0];
+    private int count;
+
+    int count() {
+        return count;
+    }
+
+    // id lớn nhất có thể có + 1
+    int capacity() {
+        return terms.length;
+    }
+
+    boolean contains(int id) {
+        return id >= 0 && id < terms.length && terms[id] != null;
+    }
+
+    int[] terms(int id) {
+        return contains(id) ? terms[id] : NO_TERMS;
+    }
+
+    float[] weights(int id) {
+        return contains(id) ? weights[id] : NO_WEIGHTS;
+    }
+
+    void put(int id, int[] termIds, float[] termWeights, float experienceYears, byte certificate) {
+        if (id >= terms.length) grow(id + 1);
+        if (terms[id] == null) count++;
+        float sum = 0;
+        for (float weight : termWeights) sum += weight * weight;
+        terms[id] = termIds;
+        weights[id] = termWeights;
+        norms[id] = (float) Math.sqrt(sum);
+        years[id] = experienceYears;
+        certificates[id] = certificate;
+    }
+
+    /**
+     * Xóa vector và trả về các term cũ để gỡ khỏi posting list; null nếu id chưa có.
+     */
+    int[] remove(int id) {
+        if (!contains(id)) return null;
+        int[] old = terms[id];
+        terms[id] = null;
+        weights[id] = null;
+        norms[id] = 0;
+        count--;
+        return old;
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, terms.length + (terms.length >> 1) + 16);
+        terms = Arrays.copyOf(terms, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        norms = Arrays.copyOf(norms, capacity);
+        years = Arrays.copyOf(years, capacity);
+        certificates = Arrays.copyOf(certificates, capacity);
+    }
+}
@@ -0,0 +1,11 @@
+package com.luv2code.jobportal.services.matching;
+
+/**
+ * Một kết quả của {@link MatchIndex}: id job hoặc id ứng viên kèm điểm khớp trong [0, 1].
+ */
+public record Match(int id, float score) {
+
+    public int percent() {
+        return Math.round(score * 100);
+    }
+}
@@ -0,0 +1,135 @@
+package com.luv2code.jobportal.services.matching;
+
+import com.luv2code.jobportal.services.search.SearchTokenizer;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tách đặc trưng từ dữ liệu nhập tự do của hồ sơ và job: token skill có trọng số, số năm kinh nghiệm,
+ * bậc bằng cấp. Không phụ thuộc từ điển term nên chạy được ngoài khóa của {@link MatchIndex}.
+ */
+final class MatchFeatures {
+
+    // token trong mô tả job nhẹ hơn token trong tiêu đề/ngành
+    static final float DESCRIPTION_WEIGHT = 0.5f;
+    private static final int MAX_DESCRIPTION_TOKENS = 300;
+    private static final float MAX_YEARS = 50;
+
+    private static final Pattern MARKUP = Pattern.compile("<[^>]*>|&#?\\w+;");
+    private static final Pattern NUMBER = Pattern.compile("\\d+(?:[.,]\\d+)?");
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+
+    // Bậc bằng cấp, cao tới thấp; so khớp trên chuỗi đã bỏ dấu
+    private static final String[][] CERTIFICATES = {
+            {"tien si", "phd", "doctor"},
+            {"thac si", "master", "mba"},
+            {"dai hoc", "cu nhan", "ky su", "bachelor", "engineer", "university"},
+            {"cao dang", "trung cap", "college", "diploma"},
+    };
+
+    record SeekerFeatures(Map<String, Float> skills, float years, byte certificate) {
+    }
+
+    /**
+     * @param core        token của tiêu đề và ngành, luôn được index
+     * @param description token của mô tả, chỉ giữ những token đã có trong từ điển
+     */
+    record JobFeatures(Map<String, Float> core, Set<String> description, float years, byte certificate) {
+    }
+
+    private MatchFeatures() {
+    }
+
+    static final class SeekerBuilder {
+        private final Map<String, Float> skills = new HashMap<>();
+        private float years;
+        private byte certificate;
+
+        SeekerBuilder(String experience, String certificate) {
+            this.years = years(experience);
+            this.certificate = certificateLevel(certificate);
+        }
+
+        // Trọng số skill = trình độ x (1 + số năm / 10, tối đa gấp đôi); skill nhiều từ thì mỗi từ một term
+        SeekerBuilder skill(String name, String level, String yearsOfExperience) {
+            float skillYears = years(yearsOfExperience);
+            years = Math.max(years, skillYears);
+            float weight = levelWeight(level) * (1 + Math.min(skillYears, 10) / 10);
+            for (String token : SearchTokenizer.tokenize(name)) {
+                if (!DIGITS.matcher(token).matches()) skills.merge(token, weight, Math::max);
+            }
+            return this;
+        }
+
+        SeekerFeatures build() {
+            return new SeekerFeatures(skills, years, certificate);
+        }
+    }
+
+    static JobFeatures job(String title, String field, String description, Integer experienceRequired,
+                           String certificateRequired) {
+        Map<String, Float> core = new HashMap<>();
+        for (String token : SearchTokenizer.tokenize(title, field)) {
+            if (!DIGITS.matcher(token).matches()) core.put(token, 1f);
+        }
+        Set<String> rest = new LinkedHashSet<>();
+        if (description != null) {
+            for (String token : SearchTokenizer.tokenize(MARKUP.matcher(description).replaceAll(" "))) {
+                if (rest.size() == MAX_DESCRIPTION_TOKENS) break;
+                if (!core.containsKey(token) && !DIGITS.matcher(token).matches()) rest.add(token);
+            }
+        }
+        float years = experienceRequired == null ? 0 : Math.min(Math.max(experienceRequired, 0), MAX_YEARS);
+        return new JobFeatures(core, rest, years, certificateLevel(certificateRequired));
+    }
+
+    /**
+     * Điểm khớp trong [0, 1]: 70% độ tương đồng cosine của skill, 20% mức đáp ứng số năm kinh nghiệm,
+     * 10% mức đáp ứng bằng cấp. Job không yêu cầu kinh nghiệm/bằng cấp thì phần đó tính đủ.
+     */
+    static float score(float dot, float seekerNorm, float jobNorm,
+                       float seekerYears, float jobYears, byte seekerCertificate, byte jobCertificate) {
+        float skill = dot <= 0 ? 0f : Math.min(1f, dot / (seekerNorm * jobNorm));
+        float experience = jobYears <= 0 ? 1f : Math.min(1f, seekerYears / jobYears);
+        float certificate = jobCertificate == 0 || seekerCertificate >= jobCertificate ? 1f
+                : (float) seekerCertificate / jobCertificate;
+        return 0.7f * skill + 0.2f * experience + 0.1f * certificate;
+    }
+
+    // Giá trị trên form hồ sơ: Beginner / Intermediate / Advance (hoặc placeholder "Experience Level")
+    static float levelWeight(String level) {
+        if (level == null) return 0.6f;
+        return switch (level.trim().toLowerCase()) {
+            case "beginner" -> 0.5f;
+            case "intermediate" -> 0.75f;
+            case "advance", "advanced" -> 1f;
+            default -> 0.6f;
+        };
+    }
+
+    // Số đầu tiên trong chuỗi ("3", "2 năm", "1.5 years"); 0 nếu không có
+    static float years(String text) {
+        if (text == null) return 0;
+        Matcher matcher = NUMBER.matcher(text);
+        if (!matcher.find()) return 0;
+        float years = Float.parseFloat(matcher.group().replace(',', '.'));
+        return Math.min(years, MAX_YEARS);
+    }
+
+    // 4 = tiến sĩ ... 1 = cao đẳng/trung cấp, 0 = không rõ
+    static byte certificateLevel(String text) {
+        if (text == null || text.isBlank()) return 0;
+        String normalized = " " + String.join(" ", SearchTokenizer.tokenize(text)) + " ";
+        for (int i = 0; i < CERTIFICATES.length; i++) {
+            for (String name : CERTIFICATES[i]) {
+                if (normalized.contains(" " + name + " ")) return (byte) (CERTIFICATES.length - i);
+            }
+        }
+        return 0;
+    }
+}
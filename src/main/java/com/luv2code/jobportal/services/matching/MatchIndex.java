@@ -0,0 +1,397 @@
+package com.luv2code.jobportal.services.matching;
+
+import com.luv2code.jobportal.entity.JobMatchRow;
+import com.luv2code.jobportal.entity.JobPostActivity;
+import com.luv2code.jobportal.entity.JobSeekerProfile;
+import com.luv2code.jobportal.entity.SeekerSkillRow;
+import com.luv2code.jobportal.entity.Skills;
+import com.luv2code.jobportal.repository.JobPostActivityRepository;
+import com.luv2code.jobportal.repository.JobSeekerProfileRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Ghép ứng viên với job trong bộ nhớ: "việc làm phù hợp" cho ứng viên và "ứng viên phù hợp" cho recruiter.
+ * <p>
+ * Mỗi hồ sơ là một vector thưa trên từ điển term (token của tên skill, trọng số theo trình độ và số năm),
+ * mỗi job là vector trên token của tiêu đề, ngành và các token trong mô tả đã có trong từ điển.
+ * Với mỗi term có hai posting list (job, ứng viên) kèm trọng số, nên một truy vấn chỉ duyệt những id
+ * có chung ít nhất một term: cộng dồn tích vô hướng trên mảng nguyên thủy, chấm điểm
+ * ({@link MatchFeatures#score}) rồi giữ top-k bằng heap. Không truy vấn DB khi trả lời.
+ * <p>
+ * Index được dựng lúc khởi động và mỗi đêm (term mới của ứng viên chỉ khớp mô tả của job cũ sau lần dựng lại),
+ * cập nhật từng phần khi job hoặc hồ sơ được lưu.
+ */
+@Component
+public class MatchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchIndex.class);
+
+    // số id đọc mỗi lần khi dựng lại
+    private static final int CHUNK = 5000;
+
+    private final JobPostActivityRepository jobPostActivityRepository;
+    private final JobSeekerProfileRepository jobSeekerProfileRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private State state = new State();
+    // cập nhật xảy ra trong lúc dựng lại, áp dụng lại lên index mới trước khi thay
+    private List<Consumer<State>> pending;
+    private final Queue<float[]> accumulators = new ConcurrentLinkedQueue<>();
+
+    public MatchIndex(JobPostActivityRepository jobPostActivityRepository,
+                      JobSeekerProfileRepository jobSeekerProfileRepository) {
+        this.jobPostActivityRepository = jobPostActivityRepository;
+        this.jobSeekerProfileRepository = jobSeekerProfileRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${jobportal.matching.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) return;
+        try {
+            lock.writeLock().lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            long start = System.nanoTime();
+            // ứng viên trước: từ điển term cần có skill trước khi lọc token mô tả của job
+            State fresh = new State();
+            loadSeekers(fresh);
+            loadJobs(fresh);
+
+            lock.writeLock().lock();
+            try {
+                pending.forEach(update -> update.accept(fresh));
+                pending = null;
+                state = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Dựng MatchIndex: {} job, {} ứng viên, {} term trong {} ms", fresh.jobs.count(),
+                    fresh.seekers.count(), fresh.termIds.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Thêm hoặc cập nhật job; nếu đang trong transaction thì chỉ áp dụng sau khi commit.
+     */
+    public void index(JobPostActivity job) {
+        if (job == null || job.getJobPostId() == null) return;
+        int id = job.getJobPostId();
+        MatchFeatures.JobFeatures features = MatchFeatures.job(job.getJobTitle(), job.getField(),
+                job.getDescriptionOfJob(), job.getExperienceRequired(), job.getCertificateRequired());
+        afterCommit(() -> update(s -> s.putJob(id, features)));
+    }
+
+    public void index(JobSeekerProfile profile) {
+        if (profile == null || profile.getUserAccountId() == null) return;
+        int id = profile.getUserAccountId();
+        MatchFeatures.SeekerBuilder builder = new MatchFeatures.SeekerBuilder(profile.getExperience(), profile.getCertificate());
+        if (profile.getSkills() != null) {
+            for (Skills skill : profile.getSkills()) {
+                builder.skill(skill.getName(), skill.getExperienceLevel(), skill.getYearsOfExperience());
+            }
+        }
+        MatchFeatures.SeekerFeatures features = builder.build();
+        afterCommit(() -> update(s -> s.putSeeker(id, features)));
+    }
+
+    public void removeJob(int jobPostId) {
+        afterCommit(() -> update(s -> s.removeJob(jobPostId)));
+    }
+
+    /**
+     * Tối đa {@code limit} job khớp nhất với hồ sơ, điểm cao trước; rỗng nếu hồ sơ chưa có skill nào khớp.
+     */
+    public List<Match> recommendJobs(int seekerId, int limit) {
+        lock.readLock().lock();
+        try {
+            State s = state;
+            return top(s.seekers, seekerId, s.jobPostings, s.jobs, true, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tối đa {@code limit} ứng viên khớp nhất với job, điểm cao trước.
+     */
+    public List<Match> topCandidates(int jobPostId, int limit) {
+        lock.readLock().lock();
+        try {
+            State s = state;
+            return top(s.jobs, jobPostId, s.seekerPostings, s.seekers, false, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Xếp hạng một tập ứng viên cho sẵn (ví dụ người đã ứng tuyển) theo độ khớp với job, giữ {@code limit} người
+     * điểm cao nhất. Id được đưa vào dần dần và chấm theo lô nên không cần giữ cả danh sách trong bộ nhớ.
+     */
+    public Ranker ranker(int jobPostId, int limit) {
+        return new Ranker(jobPostId, limit);
+    }
+
+    public final class Ranker {
+
+        private static final int BATCH = 1024;
+
+        private final int jobPostId;
+        private final TopK top;
+        private final int[] batch = new int[BATCH];
+        private int buffered;
+        private int count;
+
+        private Ranker(int jobPostId, int limit) {
+            this.jobPostId = jobPostId;
+            this.top = new TopK(Math.max(limit, 0));
+        }
+
+        public void add(int seekerId) {
+            batch[buffered++] = seekerId;
+            count++;
+            if (buffered == BATCH) flush();
+        }
+
+        // số ứng viên đã đưa vào
+        public int count() {
+            return count;
+        }
+
+        /**
+         * Kết quả từ cao xuống thấp; ứng viên chưa có trong index vẫn được xếp (điểm chỉ từ phần không phải skill).
+         */
+        public List<Match> result() {
+            flush();
+            return top.drain();
+        }
+
+        // Khóa đọc chỉ giữ trong lúc chấm một lô, không giữ trong lúc nguồn id (DB) đang đọc
+        private void flush() {
+            if (buffered == 0) return;
+            lock.readLock().lock();
+            try {
+                FeatureTable jobs = state.jobs;
+                FeatureTable seekers = state.seekers;
+                int[] jobTerms = jobs.terms(jobPostId);
+                float[] jobWeights = jobs.weights(jobPostId);
+                boolean indexedJob = jobs.contains(jobPostId);
+                float jobNorm = indexedJob ? jobs.norms[jobPostId] : 0;
+                float jobYears = indexedJob ? jobs.years[jobPostId] : 0;
+                byte jobCertificate = indexedJob ? jobs.certificates[jobPostId] : 0;
+                for (int i = 0; i < buffered; i++) {
+                    int id = batch[i];
+                    if (!seekers.contains(id)) {
+                        top.offer(id, MatchFeatures.score(0, 0, jobNorm, 0, jobYears, (byte) 0, jobCertificate));
+                        continue;
+                    }
+                    float dot = dot(seekers.terms[id], seekers.weights[id], jobTerms, jobWeights);
+                    top.offer(id, MatchFeatures.score(dot, seekers.norms[id], jobNorm, seekers.years[id], jobYears,
+                            seekers.certificates[id], jobCertificate));
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            buffered = 0;
+        }
+    }
+
+    // Tích vô hướng của hai vector thưa có term tăng dần
+    private static float dot(int[] aTerms, float[] aWeights, int[] bTerms, float[] bWeights) {
+        float dot = 0;
+        int i = 0, j = 0;
+        while (i < aTerms.length && j < bTerms.length) {
+            if (aTerms[i] == bTerms[j]) dot += aWeights[i++] * bWeights[j++];
+            else if (aTerms[i] < bTerms[j]) i++;
+            else j++;
+        }
+        return dot;
+    }
+
+    private void update(Consumer<State> update) {
+        lock.writeLock().lock();
+        try {
+            update.accept(state);
+            if (pending != null) pending.add(update);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void loadSeekers(State target) {
+        Integer maxId = jobSeekerProfileRepository.findMaxUserAccountId();
+        for (int from = 1; maxId != null && from <= maxId; from += CHUNK) {
+            // các dòng của cùng một ứng viên nằm liền nhau (ORDER BY id)
+            int currentId = -1;
+            MatchFeatures.SeekerBuilder current = null;
+            for (SeekerSkillRow row : jobSeekerProfileRepository.findSkillRows(from, from + CHUNK - 1)) {
+                if (row.userAccountId() != currentId) {
+                    if (current != null) target.putSeeker(currentId, current.build());
+                    currentId = row.userAccountId();
+                    current = new MatchFeatures.SeekerBuilder(row.experience(), row.certificate());
+                }
+                if (row.skillName() != null) current.skill(row.skillName(), row.experienceLevel(), row.yearsOfExperience());
+            }
+            if (current != null) target.putSeeker(currentId, current.build());
+        }
+    }
+
+    private void loadJobs(State target) {
+        Integer maxId = jobPostActivityRepository.findMaxJobPostId();
+        for (int from = 1; maxId != null && from <= maxId; from += CHUNK) {
+            for (JobMatchRow row : jobPostActivityRepository.findMatchRows(from, from + CHUNK - 1)) {
+                target.putJob(row.jobPostId(), MatchFeatures.job(row.jobTitle(), row.field(), row.descriptionOfJob(),
+                        row.experienceRequired(), row.certificateRequired()));
+            }
+        }
+    }
+
+    // Cộng dồn tích vô hướng theo từng term vào mảng tích lũy đánh chỉ số bằng id (duyệt posting list tuần tự,
+    // nhanh hơn trộn theo id khi list dài), rồi chấm điểm các id khác 0 và giữ top-k
+    private List<Match> top(FeatureTable queries, int queryId, List<WeightedPostings> postings,
+                            FeatureTable targets, boolean queryIsSeeker, int limit) {
+        int[] terms = queries.terms(queryId);
+        float[] weights = queries.weights(queryId);
+        if (terms.length == 0 || limit <= 0) return List.of();
+        float queryNorm = queries.norms[queryId];
+        float queryYears = queries.years[queryId];
+        byte queryCertificate = queries.certificates[queryId];
+
+        float[] dots = borrowAccumulator(targets.capacity());
+        int low = Integer.MAX_VALUE;
+        int high = -1;
+        for (int i = 0; i < terms.length; i++) {
+            WeightedPostings list = postings.get(terms[i]);
+            if (list.isEmpty()) continue;
+            int[] ids = list.ids();
+            float[] termWeights = list.weights();
+            float weight = weights[i];
+            for (int j = 0, n = list.size(); j < n; j++) dots[ids[j]] += weight * termWeights[j];
+            low = Math.min(low, ids[0]);
+            high = Math.max(high, ids[list.size() - 1]);
+        }
+
+        TopK top = new TopK(limit);
+        for (int id = low; id <= high; id++) {
+            float dot = dots[id];
+            if (dot == 0) continue;
+            dots[id] = 0; // trả mảng về trạng thái sạch cho lần dùng sau
+            float score = queryIsSeeker
+                    ? MatchFeatures.score(dot, queryNorm, targets.norms[id], queryYears, targets.years[id],
+                    queryCertificate, targets.certificates[id])
+                    : MatchFeatures.score(dot, targets.norms[id], queryNorm, targets.years[id], queryYears,
+                    targets.certificates[id], queryCertificate);
+            top.offer(id, score);
+        }
+        accumulators.offer(dots);
+        return top.drain();
+    }
+
+    // Mảng tích lũy dùng lại giữa các truy vấn (1M ứng viên = 4 MB mỗi mảng); mảng quá nhỏ thì bỏ
+    private float[] borrowAccumulator(int size) {
+        float[] dots;
+        while ((dots = accumulators.poll()) != null) {
+            if (dots.length >= size) return dots;
+        }
+        return new float[size];
+    }
+
+    /**
+     * Toàn bộ dữ liệu của index; khi dựng lại thì tạo mới rồi thay cả khối.
+     */
+    private static final class State {
+
+        final Map<String, Integer> termIds = new HashMap<>();
+        final List<WeightedPostings> jobPostings = new ArrayList<>();
+        final List<WeightedPostings> seekerPostings = new ArrayList<>();
+        final FeatureTable jobs = new FeatureTable();
+        final FeatureTable seekers = new FeatureTable();
+
+        void putSeeker(int id, MatchFeatures.SeekerFeatures features) {
+            removeFrom(seekers, seekerPostings, id);
+            Map<Integer, Float> vector = new HashMap<>();
+            features.skills().forEach((term, weight) -> vector.put(termId(term), weight));
+            putInto(seekers, seekerPostings, id, vector, features.years(), features.certificate());
+        }
+
+        void putJob(int id, MatchFeatures.JobFeatures features) {
+            removeFrom(jobs, jobPostings, id);
+            Map<Integer, Float> vector = new HashMap<>();
+            features.core().forEach((term, weight) -> vector.put(termId(term), weight));
+            for (String term : features.description()) {
+                Integer termId = termIds.get(term);
+                if (termId != null) vector.putIfAbsent(termId, MatchFeatures.DESCRIPTION_WEIGHT);
+            }
+            putInto(jobs, jobPostings, id, vector, features.years(), features.certificate());
+        }
+
+        void removeJob(int id) {
+            removeFrom(jobs, jobPostings, id);
+        }
+
+        private int termId(String term) {
+            Integer id = termIds.get(term);
+            if (id != null) return id;
+            id = termIds.size();
+            termIds.put(term, id);
+            jobPostings.add(new WeightedPostings());
+            seekerPostings.add(new WeightedPostings());
+            return id;
+        }
+
+        private static void putInto(FeatureTable table, List<WeightedPostings> postings, int id,
+                                    Map<Integer, Float> vector, float years, byte certificate) {
+            int[] terms = new int[vector.size()];
+            int n = 0;
+            for (int term : vector.keySet()) terms[n++] = term;
+            Arrays.sort(terms);
+            float[] weights = new float[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                weights[i] = vector.get(terms[i]);
+                postings.get(terms[i]).put(id, weights[i]);
+            }
+            table.put(id, terms, weights, years, certificate);
+        }
+
+        private static void removeFrom(FeatureTable table, List<WeightedPostings> postings, int id) {
+            int[] old = table.remove(id);
+            if (old == null) return;
+            for (int term : old) postings.get(term).remove(id);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.luv2code.jobportal.services.matching;
+
+import java.util.List;
+
+/**
+ * Giữ k kết quả điểm cao nhất bằng min-heap trên hai mảng nguyên thủy; bằng điểm thì id lớn hơn (mới hơn) thắng.
+ */
+final class TopK {
+
+    private final int[] ids;
+    private final float[] scores;
+    private int size;
+
+    TopK(int k) {
+        ids = new int[k];
+        scores = new float[k];
+    }
+
+    void offer(int id, float score) {
+        if (ids.length == 0) return;
+        if (size < ids.length) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (less(0, id, score)) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    // Kết quả từ cao xuống thấp; heap bị rút cạn
+    List<Match> drain() {
+        Match[] out = new Match[size];
+        while (size > 0) {
+            out[size - 1] = new Match(ids[0], scores[0]);
+            size--;
+            ids[0] = ids[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        return List.of(out);
+    }
+
+    // phần tử ở vị trí i kém hơn (id, score)
+    private boolean less(int i, int id, float score) {
+        return scores[i] < score || (scores[i] == score && ids[i] < id);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(i, ids[parent], scores[parent])) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && less(left, ids[smallest], scores[smallest])) smallest = left;
+            if (right < size && less(right, ids[smallest], scores[smallest])) smallest = right;
+            if (smallest == i) return;
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -0,0 +1,57 @@
+package com.luv2code.jobportal.services.matching;
+
+import java.util.Arrays;
+
+/**
+ * Posting list của một term: id tăng dần kèm trọng số của term trong vector của id đó.
+ */
+final class WeightedPostings {
+
+    private int[] ids = new int[4];
+    private float[] weights = new float[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    // mảng nội bộ, chỉ đọc và chỉ hợp lệ tới size()
+    int[] ids() {
+        return ids;
+    }
+
+    float[] weights() {
+        return weights;
+    }
+
+    void put(int id, float weight) {
+        // dựng lại index thêm id tăng dần: chỉ cần nối vào cuối
+        int pos = size > 0 && ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            weights[pos] = weight;
+            return;
+        }
+        pos = -pos - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            weights = Arrays.copyOf(weights, size * 2);
+        }
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        System.arraycopy(weights, pos, weights, pos + 1, size - pos);
+        ids[pos] = id;
+        weights[pos] = weight;
+        size++;
+    }
+
+    void remove(int id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) return;
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        System.arraycopy(weights, pos + 1, weights, pos, size - pos - 1);
+        size--;
+    }
+}
@@ -0,0 +1,55 @@
+package com.luv2code.jobportal.services.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bộ đếm nghiệp vụ: ứng tuyển, lưu job, đăng ký, đăng nhập. Tag {@code type} là recruiter/job_seeker.
+ * Thời gian của các service nằm ở metric {@code jobportal.service} (@Timed trên từng service).
+ */
+@Component
+public class DomainMetrics {
+
+    private final Counter applications;
+    private final Counter saves;
+    private final Counter recruiterRegistrations;
+    private final Counter jobSeekerRegistrations;
+    private final Counter recruiterLogins;
+    private final Counter jobSeekerLogins;
+
+    public DomainMetrics(MeterRegistry registry) {
+        this.applications = Counter.builder("jobportal.applications").description("Số lượt ứng tuyển").register(registry);
+        this.saves = Counter.builder("jobportal.saves").description("Số lượt lưu job").register(registry);
+        this.recruiterRegistrations = registration(registry, "recruiter");
+        this.jobSeekerRegistrations = registration(registry, "job_seeker");
+        this.recruiterLogins = login(registry, "recruiter");
+        this.jobSeekerLogins = login(registry, "job_seeker");
+    }
+
+    public void applied() {
+        applications.increment();
+    }
+
+    public void saved() {
+        saves.increment();
+    }
+
+    public void registered(boolean recruiter) {
+        (recruiter ? recruiterRegistrations : jobSeekerRegistrations).increment();
+    }
+
+    public void loggedIn(boolean recruiter) {
+        (recruiter ? recruiterLogins : jobSeekerLogins).increment();
+    }
+
+    private static Counter registration(MeterRegistry registry, String type) {
+        return Counter.builder("jobportal.registrations").description("Số tài khoản đăng ký mới")
+                .tag("type", type).register(registry);
+    }
+
+    private static Counter login(MeterRegistry registry, String type) {
+        return Counter.builder("jobportal.logins").description("Số lượt đăng nhập thành công")
+                .tag("type", type).register(registry);
+    }
+}
@@ -0,0 +1,132 @@
+package com.luv2code.jobportal.services.metrics;
+
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Proxy JDBC (DataSource → Connection → Statement → ResultSet) đo thời gian mỗi lần execute, đếm số dòng
+ * và báo cho {@link SqlMetrics}. Chỉ ghi kiểu của tham số bind, không giữ giá trị.
+ */
+final class JdbcProxies {
+
+    private JdbcProxies() {
+    }
+
+    static DataSource dataSource(DataSource target, Supplier<SqlMetrics> metrics) {
+        // giữ mọi interface của pool (Closeable, MXBean của Hikari...) để Spring vẫn đóng được pool khi tắt
+        return (DataSource) proxy(target, ClassUtils.getAllInterfaces(target), (method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? connection(connection, metrics) : result;
+        });
+    }
+
+    private static Connection connection(Connection target, Supplier<SqlMetrics> metrics) {
+        return (Connection) proxy(target, new Class<?>[]{Connection.class}, (method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // prepareStatement/prepareCall nhận SQL ngay; createStatement nhận SQL lúc execute
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                StatementHandler handler = new StatementHandler(statement, sql, metrics.get());
+                return proxy(statement, new Class<?>[]{method.getReturnType()}, handler);
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet resultSet(ResultSet target, SqlMetrics.RequestStats stats) {
+        return (ResultSet) proxy(target, new Class<?>[]{ResultSet.class}, (method, args) -> {
+            Object result = invoke(target, method, args);
+            if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) stats.rows++;
+            return result;
+        });
+    }
+
+    private static final class StatementHandler implements Handler {
+
+        private final Statement target;
+        private final String sql;
+        private final SqlMetrics metrics;
+        private final List<String> parameterTypes = new ArrayList<>();
+        private SqlMetrics.RequestStats stats;
+
+        StatementHandler(Statement target, String sql, SqlMetrics metrics) {
+            this.target = target;
+            this.sql = sql;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object invoke(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) return execute(method, args);
+            Object result = JdbcProxies.invoke(target, method, args);
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") || args[1] == null ? "null" : args[1].getClass().getSimpleName());
+            } else if (name.equals("clearParameters")) {
+                parameterTypes.clear();
+            } else if (name.equals("getResultSet") && result instanceof ResultSet resultSet && stats != null) {
+                return resultSet(resultSet, stats);
+            }
+            return result;
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String executed = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            stats = metrics.current();
+            Object result = null;
+            long start = System.nanoTime();
+            try {
+                result = JdbcProxies.invoke(target, method, args);
+            } finally {
+                metrics.statementExecuted(stats, executed, parameterTypes, System.nanoTime() - start, updateCount(result));
+            }
+            return result instanceof ResultSet resultSet && stats != null ? resultSet(resultSet, stats) : result;
+        }
+
+        private void bind(int index, String type) {
+            while (parameterTypes.size() < index) parameterTypes.add("?");
+            parameterTypes.set(index - 1, type);
+        }
+
+        private static long updateCount(Object result) {
+            long rows = 0;
+            if (result instanceof Number count) rows = count.longValue();
+            else if (result instanceof int[] counts) for (int count : counts) rows += Math.max(count, 0);
+            else if (result instanceof long[] counts) for (long count : counts) rows += Math.max(count, 0);
+            return Math.max(rows, 0);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+
+    private static Object proxy(Object target, Class<?>[] interfaces, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> method.getParameterCount() == 1 ? proxy == args[0] : handler.invoke(method, args);
+            case "hashCode" -> method.getParameterCount() == 0 ? System.identityHashCode(proxy) : handler.invoke(method, args);
+            default -> handler.invoke(method, args);
+        };
+        return Proxy.newProxyInstance(JdbcProxies.class.getClassLoader(), interfaces, invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.luv2code.jobportal.services.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+
+/**
+ * Bọc mọi bean DataSource bằng {@link JdbcProxies} để {@link SqlMetrics} thấy từng câu lệnh.
+ * SqlMetrics được lấy lúc có câu lệnh đầu tiên: BeanPostProcessor được tạo quá sớm để inject trực tiếp.
+ */
+@Component
+public class SqlInstrumentationPostProcessor implements BeanPostProcessor {
+
+    private final SingletonSupplier<SqlMetrics> sqlMetrics;
+
+    public SqlInstrumentationPostProcessor(ObjectProvider<SqlMetrics> sqlMetrics) {
+        this.sqlMetrics = SingletonSupplier.of(sqlMetrics::getObject);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+            return JdbcProxies.dataSource(dataSource, sqlMetrics);
+        }
+        return bean;
+    }
+}
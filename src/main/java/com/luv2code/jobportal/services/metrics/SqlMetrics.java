@@ -0,0 +1,146 @@
+package com.luv2code.jobportal.services.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Thống kê SQL: mỗi câu lệnh (thời gian theo loại select/insert/...) và mỗi request (số câu lệnh, số dòng,
+ * tổng thời gian DB) gắn tag theo handler, ví dụ {@code JobPostActivityController.searchJobs}.
+ * Dữ liệu đến từ DataSource đã bọc (xem {@link SqlInstrumentationPostProcessor}); request được đánh dấu bởi
+ * {@link SqlMetricsFilter}. Câu lệnh chạy ngoài request (job nền, luồng upload) chỉ được tính vào thống kê câu lệnh.
+ * Xem qua /actuator/metrics/jobportal.sql.request.statements?tag=handler:HomeController.home
+ */
+@Component
+public class SqlMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlMetrics.class);
+    private static final int MAX_LOGGED_SQL = 1000;
+    private static final List<String> OPERATIONS = List.of("select", "insert", "update", "delete", "other");
+
+    private final ThreadLocal<RequestStats> current = new ThreadLocal<>();
+    private final MeterRegistry registry;
+    private final Map<String, Timer> statementTimers;
+    private final long slowThresholdNanos;
+    private final int requestStatementsWarn;
+
+    public SqlMetrics(MeterRegistry registry,
+                      @Value("${jobportal.sql.slow-threshold:200ms}") Duration slowThreshold,
+                      @Value("${jobportal.sql.request-statements-warn:50}") int requestStatementsWarn) {
+        this.registry = registry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.requestStatementsWarn = requestStatementsWarn;
+        // số loại câu lệnh cố định nên tạo sẵn timer, không phải tra registry mỗi câu lệnh
+        this.statementTimers = OPERATIONS.stream().collect(Collectors.toUnmodifiableMap(op -> op,
+                op -> Timer.builder("jobportal.sql.statement")
+                        .description("Thời gian thực thi một câu lệnh SQL")
+                        .tag("operation", op)
+                        .publishPercentileHistogram()
+                        .register(registry)));
+    }
+
+    void begin(HttpServletRequest request) {
+        current.set(new RequestStats(request));
+    }
+
+    void finish(HttpServletRequest request) {
+        RequestStats stats = current.get();
+        current.remove();
+        if (stats == null) return;
+        String handler = handlerName(request);
+        DistributionSummary.builder("jobportal.sql.request.statements")
+                .description("Số câu lệnh SQL trong một request").tag("handler", handler)
+                .publishPercentileHistogram().register(registry).record(stats.statements);
+        DistributionSummary.builder("jobportal.sql.request.rows")
+                .description("Số dòng đọc/ghi trong một request").tag("handler", handler)
+                .publishPercentileHistogram().register(registry).record(stats.rows);
+        Timer.builder("jobportal.sql.request.time")
+                .description("Tổng thời gian chờ DB trong một request").tag("handler", handler)
+                .publishPercentileHistogram().register(registry).record(stats.nanos, TimeUnit.NANOSECONDS);
+        // nhiều câu lệnh trong một request thường là dấu hiệu N+1
+        if (stats.statements > requestStatementsWarn) {
+            log.warn("{} {} ({}) chạy {} câu lệnh SQL, {} dòng, {} ms", request.getMethod(), request.getRequestURI(),
+                    handler, stats.statements, stats.rows, TimeUnit.NANOSECONDS.toMillis(stats.nanos));
+        }
+    }
+
+    /**
+     * Thống kê của request đang chạy trên luồng này, null nếu không có.
+     */
+    RequestStats current() {
+        return current.get();
+    }
+
+    /**
+     * @param parameterTypes kiểu của các tham số đã bind (không ghi giá trị: có thể là email, mật khẩu đã băm...)
+     */
+    void statementExecuted(RequestStats stats, String sql, List<String> parameterTypes, long nanos, long rows) {
+        statementTimers.get(operation(sql)).record(nanos, TimeUnit.NANOSECONDS);
+        if (stats != null) {
+            stats.statements++;
+            stats.rows += rows;
+            stats.nanos += nanos;
+        }
+        if (nanos >= slowThresholdNanos) {
+            log.warn("Truy vấn chậm {} ms ({}): {} tham số {}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                    stats == null ? "ngoài request" : handlerName(stats.request), compact(sql), parameterSummary(parameterTypes));
+        }
+    }
+
+    static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return handler == null ? "none" : handler.getClass().getSimpleName();
+    }
+
+    private static String parameterSummary(List<String> parameterTypes) {
+        if (parameterTypes.size() <= 20) return parameterTypes.toString();
+        return parameterTypes.subList(0, 20) + " (" + parameterTypes.size() + " tham số)";
+    }
+
+    private static String operation(String sql) {
+        if (sql == null) return "other";
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) end++;
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return OPERATIONS.contains(keyword) ? keyword : "other";
+    }
+
+    // IN (?, ?, ...) với hàng nghìn tham số làm một dòng log dài hàng chục KB: chỉ giữ phần đầu
+    private static String compact(String sql) {
+        if (sql == null) return "";
+        String compact = sql.replaceAll("\\s+", " ").trim();
+        return compact.length() <= MAX_LOGGED_SQL ? compact : compact.substring(0, MAX_LOGGED_SQL) + "...";
+    }
+
+    /**
+     * Bộ đếm của một request; chỉ luồng xử lý request đó ghi vào nên không cần đồng bộ.
+     */
+    static final class RequestStats {
+        final HttpServletRequest request;
+        int statements;
+        long rows;
+        long nanos;
+
+        RequestStats(HttpServletRequest request) {
+            this.request = request;
+        }
+    }
+}
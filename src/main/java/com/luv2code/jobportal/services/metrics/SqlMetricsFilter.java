@@ -0,0 +1,37 @@
+package com.luv2code.jobportal.services.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Đánh dấu phạm vi request cho {@link SqlMetrics}. Đứng trước Spring Security để tính cả câu lệnh lúc đăng nhập.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    private final SqlMetrics sqlMetrics;
+
+    public SqlMetricsFilter(SqlMetrics sqlMetrics) {
+        this.sqlMetrics = sqlMetrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        sqlMetrics.begin(request);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            sqlMetrics.finish(request);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.luv2code.jobportal.services.search;
+
+import java.util.Map;
+
+/**
+ * Số job khớp cho từng ô lọc trên dashboard / global-search. Mỗi nhóm được đếm với điều kiện của các
+ * nhóm còn lại (không tính điều kiện của chính nhóm đó), nên tick thêm một ô sẽ cho đúng số hiển thị.
+ *
+ * @param jobType số job theo nhãn của {@code JobType} ("Part-Time", "Full-Time", ...)
+ * @param remote  số job theo nhãn của {@code RemoteType} ("Remote-Only", "Office-Only", ...)
+ * @param today   số job đăng từ đầu ngày hôm nay
+ * @param days7   số job đăng trong 7 ngày gần đây
+ * @param days30  số job đăng trong 30 ngày gần đây
+ */
+public record FacetCounts(Map<String, Integer> jobType, Map<String, Integer> remote,
+                          int today, int days7, int days30) {
+}
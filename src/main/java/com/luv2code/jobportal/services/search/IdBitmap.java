@@ -0,0 +1,362 @@
+package com.luv2code.jobportal.services.search;
+
+import java.util.Arrays;
+
+/**
+ * Tập jobPostId nén theo kiểu Roaring: id được chia theo 16 bit cao thành từng khối 65536 id. Khối thưa
+ * lưu mảng 16 bit thấp đã sắp xếp (tối đa 4096 phần tử, 8 KB), khối dày chuyển sang bitmap 1024 long (8 KB).
+ * Phép AND/OR đi theo từng cặp khối cùng khóa nên chi phí tỉ lệ với số khối khác rỗng, không phải số job.
+ * <p>
+ * Không đồng bộ; {@link JobSearchIndex} giữ khóa khi đọc/ghi. {@link #and}/{@link #or} luôn trả về đối tượng
+ * mới, không sửa hai tập đầu vào.
+ */
+final class IdBitmap {
+
+    static final IdBitmap EMPTY = new IdBitmap();
+
+    // quá ngưỡng này thì mảng tốn chỗ hơn bitmap
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    private char[] keys = new char[0];
+    private Block[] blocks = new Block[0];
+    private int size;
+
+    /**
+     * Một khối 65536 id; dùng đúng một trong hai dạng: {@code values} (mảng) hoặc {@code words} (bitmap).
+     */
+    private static final class Block {
+        char[] values;
+        long[] words;
+        int cardinality;
+
+        static Block array(char[] values, int cardinality) {
+            Block block = new Block();
+            block.values = values;
+            block.cardinality = cardinality;
+            return block;
+        }
+
+        static Block bitmap(long[] words, int cardinality) {
+            Block block = new Block();
+            block.words = words;
+            block.cardinality = cardinality;
+            return block.cardinality <= ARRAY_MAX ? block.toArray() : block;
+        }
+
+        boolean contains(char low) {
+            if (words != null) return (words[low >>> 6] & (1L << low)) != 0;
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        void add(char low) {
+            if (words != null) {
+                long before = words[low >>> 6];
+                words[low >>> 6] = before | (1L << low);
+                if (before != words[low >>> 6]) cardinality++;
+                return;
+            }
+            int pos = Arrays.binarySearch(values, 0, cardinality, low);
+            if (pos >= 0) return;
+            if (cardinality == ARRAY_MAX) {
+                toBitmap();
+                add(low);
+                return;
+            }
+            pos = -pos - 1;
+            if (cardinality == values.length) values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            System.arraycopy(values, pos, values, pos + 1, cardinality - pos);
+            values[pos] = low;
+            cardinality++;
+        }
+
+        void remove(char low) {
+            if (words != null) {
+                long before = words[low >>> 6];
+                words[low >>> 6] = before & ~(1L << low);
+                if (before != words[low >>> 6] && --cardinality <= ARRAY_MAX) {
+                    Block array = toArray();
+                    values = array.values;
+                    words = null;
+                }
+                return;
+            }
+            int pos = Arrays.binarySearch(values, 0, cardinality, low);
+            if (pos < 0) return;
+            System.arraycopy(values, pos + 1, values, pos, cardinality - pos - 1);
+            cardinality--;
+        }
+
+        private void toBitmap() {
+            long[] bits = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) bits[values[i] >>> 6] |= 1L << values[i];
+            words = bits;
+            values = null;
+        }
+
+        private Block toArray() {
+            char[] out = new char[Math.max(1, cardinality)];
+            int n = 0;
+            for (int w = 0; w < WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    out[n++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return array(out, n);
+        }
+
+        // null nếu giao rỗng
+        static Block and(Block a, Block b) {
+            if (a.words != null && b.words != null) {
+                long[] out = new long[WORDS];
+                int n = 0;
+                for (int w = 0; w < WORDS; w++) {
+                    out[w] = a.words[w] & b.words[w];
+                    n += Long.bitCount(out[w]);
+                }
+                return n == 0 ? null : bitmap(out, n);
+            }
+            if (a.words != null) return and(b, a);
+            char[] out = new char[Math.min(a.cardinality, b.cardinality)];
+            int n = 0;
+            if (b.words != null) {
+                for (int i = 0; i < a.cardinality; i++) {
+                    if (b.contains(a.values[i])) out[n++] = a.values[i];
+                }
+            } else {
+                int i = 0, j = 0;
+                while (i < a.cardinality && j < b.cardinality) {
+                    char x = a.values[i], y = b.values[j];
+                    if (x == y) {
+                        out[n++] = x;
+                        i++;
+                        j++;
+                    } else if (x < y) {
+                        i++;
+                    } else {
+                        j++;
+                    }
+                }
+            }
+            return n == 0 ? null : array(out, n);
+        }
+
+        static int andCardinality(Block a, Block b) {
+            if (a.words != null && b.words != null) {
+                int n = 0;
+                for (int w = 0; w < WORDS; w++) n += Long.bitCount(a.words[w] & b.words[w]);
+                return n;
+            }
+            if (a.words != null) return andCardinality(b, a);
+            int n = 0;
+            if (b.words != null) {
+                for (int i = 0; i < a.cardinality; i++) {
+                    if (b.contains(a.values[i])) n++;
+                }
+                return n;
+            }
+            int i = 0, j = 0;
+            while (i < a.cardinality && j < b.cardinality) {
+                char x = a.values[i], y = b.values[j];
+                if (x == y) {
+                    n++;
+                    i++;
+                    j++;
+                } else if (x < y) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return n;
+        }
+
+        static Block or(Block a, Block b) {
+            if (a.words != null || b.words != null) {
+                long[] out = new long[WORDS];
+                for (Block block : new Block[]{a, b}) {
+                    if (block.words != null) {
+                        for (int w = 0; w < WORDS; w++) out[w] |= block.words[w];
+                    } else {
+                        for (int i = 0; i < block.cardinality; i++) out[block.values[i] >>> 6] |= 1L << block.values[i];
+                    }
+                }
+                int n = 0;
+                for (long word : out) n += Long.bitCount(word);
+                return bitmap(out, n);
+            }
+            char[] out = new char[a.cardinality + b.cardinality];
+            int i = 0, j = 0, n = 0;
+            while (i < a.cardinality && j < b.cardinality) {
+                char x = a.values[i], y = b.values[j];
+                if (x == y) {
+                    out[n++] = x;
+                    i++;
+                    j++;
+                } else if (x < y) {
+                    out[n++] = x;
+                    i++;
+                } else {
+                    out[n++] = y;
+                    j++;
+                }
+            }
+            while (i < a.cardinality) out[n++] = a.values[i++];
+            while (j < b.cardinality) out[n++] = b.values[j++];
+            if (n <= ARRAY_MAX) return array(out, n);
+            Block block = array(out, n);
+            block.toBitmap();
+            return block;
+        }
+    }
+
+    static IdBitmap of(PostingList list) {
+        IdBitmap bitmap = new IdBitmap();
+        for (int i = 0; i < list.size(); i++) bitmap.add(list.get(i));
+        return bitmap;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int cardinality() {
+        int n = 0;
+        for (int i = 0; i < size; i++) n += blocks[i].cardinality;
+        return n;
+    }
+
+    boolean contains(int id) {
+        int pos = Arrays.binarySearch(keys, 0, size, (char) (id >>> 16));
+        return pos >= 0 && blocks[pos].contains((char) id);
+    }
+
+    void add(int id) {
+        char key = (char) (id >>> 16);
+        // id thường tăng dần nên thử khối cuối trước
+        int pos = size > 0 && keys[size - 1] == key ? size - 1 : Arrays.binarySearch(keys, 0, size, key);
+        if (pos < 0) {
+            pos = -pos - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(4, size * 2));
+                blocks = Arrays.copyOf(blocks, keys.length);
+            }
+            System.arraycopy(keys, pos, keys, pos + 1, size - pos);
+            System.arraycopy(blocks, pos, blocks, pos + 1, size - pos);
+            keys[pos] = key;
+            blocks[pos] = Block.array(new char[4], 0);
+            size++;
+        }
+        blocks[pos].add((char) id);
+    }
+
+    void remove(int id) {
+        int pos = Arrays.binarySearch(keys, 0, size, (char) (id >>> 16));
+        if (pos < 0) return;
+        blocks[pos].remove((char) id);
+        if (blocks[pos].cardinality == 0) {
+            System.arraycopy(keys, pos + 1, keys, pos, size - pos - 1);
+            System.arraycopy(blocks, pos + 1, blocks, pos, size - pos - 1);
+            blocks[--size] = null;
+        }
+    }
+
+    /**
+     * Các id theo thứ tự tăng dần.
+     */
+    int[] toArray() {
+        int[] out = new int[cardinality()];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            int high = keys[i] << 16;
+            Block block = blocks[i];
+            if (block.words == null) {
+                for (int j = 0; j < block.cardinality; j++) out[n++] = high | block.values[j];
+            } else {
+                for (int w = 0; w < WORDS; w++) {
+                    long word = block.words[w];
+                    while (word != 0) {
+                        out[n++] = high | ((w << 6) + Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    static IdBitmap and(IdBitmap a, IdBitmap b) {
+        IdBitmap out = new IdBitmap();
+        int i = 0, j = 0;
+        while (i < a.size && j < b.size) {
+            char x = a.keys[i], y = b.keys[j];
+            if (x == y) {
+                Block block = Block.and(a.blocks[i], b.blocks[j]);
+                if (block != null) out.append(x, block);
+                i++;
+                j++;
+            } else if (x < y) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return out;
+    }
+
+    static int andCardinality(IdBitmap a, IdBitmap b) {
+        int n = 0;
+        int i = 0, j = 0;
+        while (i < a.size && j < b.size) {
+            char x = a.keys[i], y = b.keys[j];
+            if (x == y) {
+                n += Block.andCardinality(a.blocks[i], b.blocks[j]);
+                i++;
+                j++;
+            } else if (x < y) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return n;
+    }
+
+    static IdBitmap or(IdBitmap a, IdBitmap b) {
+        IdBitmap out = new IdBitmap();
+        int i = 0, j = 0;
+        while (i < a.size && j < b.size) {
+            char x = a.keys[i], y = b.keys[j];
+            if (x == y) {
+                out.append(x, Block.or(a.blocks[i], b.blocks[j]));
+                i++;
+                j++;
+            } else if (x < y) {
+                out.append(x, copy(a.blocks[i++]));
+            } else {
+                out.append(y, copy(b.blocks[j++]));
+            }
+        }
+        while (i < a.size) out.append(a.keys[i], copy(a.blocks[i++]));
+        while (j < b.size) out.append(b.keys[j], copy(b.blocks[j++]));
+        return out;
+    }
+
+    // khối được chép để tập kết quả có thể add/remove mà không ảnh hưởng tập gốc
+    private static Block copy(Block block) {
+        return block.words != null
+                ? Block.bitmap(block.words.clone(), block.cardinality)
+                : Block.array(Arrays.copyOf(block.values, Math.max(1, block.cardinality)), block.cardinality);
+    }
+
+    private void append(char key, Block block) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(4, size * 2));
+            blocks = Arrays.copyOf(blocks, keys.length);
+        }
+        keys[size] = key;
+        blocks[size++] = block;
+    }
+}
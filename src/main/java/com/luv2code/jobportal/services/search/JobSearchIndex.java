@@ -0,0 +1,375 @@
+package com.luv2code.jobportal.services.search;
+
+import com.luv2code.jobportal.entity.JobCompany;
+import com.luv2code.jobportal.entity.JobLocation;
+import com.luv2code.jobportal.entity.JobPostActivity;
+import com.luv2code.jobportal.entity.JobType;
+import com.luv2code.jobportal.entity.RemoteType;
+import com.luv2code.jobportal.repository.JobPostActivityRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Inverted index trong bộ nhớ cho tìm kiếm job theo từ khóa (title, công ty) và địa điểm
+ * (city/state/country). Được dựng lúc khởi động và cập nhật khi job được thêm/sửa/xóa.
+ * <p>
+ * Mỗi token truy vấn được so khớp theo tiền tố với các token đã index; các token truy vấn
+ * được kết hợp bằng phép giao posting list. Kết quả trả về là jobPostId, mới đăng trước.
+ * <p>
+ * Ngoài ra giữ một bitmap nén ({@link IdBitmap}) theo jobPostId cho mỗi giá trị jobType, remote,
+ * mỗi ngày đăng và mỗi recruiter. Bộ lọc của trang tìm kiếm ({@link #page}) và số job của các ô lọc ({@link #facets}) được tính
+ * bằng phép AND/OR trên các bitmap này, DB chỉ còn đọc đúng các job của trang.
+ */
+@Component
+public class JobSearchIndex {
+
+    enum Field {TITLE, COMPANY, LOCATION}
+
+    private static final EnumSet<Field> KEYWORD_FIELDS = EnumSet.of(Field.TITLE, Field.COMPANY);
+    private static final EnumSet<Field> LOCATION_FIELDS = EnumSet.of(Field.LOCATION);
+
+    private static final Comparator<IndexedJob> NEWEST_FIRST = Comparator
+            .comparingLong(IndexedJob::postedAt).reversed()
+            .thenComparing(Comparator.comparingInt(IndexedJob::jobPostId).reversed());
+
+    // số ngày xa nhất có ô lọc ngày đăng (1 tháng gần đây)
+    private static final int MAX_DAYS_AGO = 30;
+
+    private record IndexedJob(int jobPostId, int ownerId, long postedAt, long postedDay,
+                              JobType jobType, RemoteType remote, Map<Field, Set<String>> tokens) {
+    }
+
+    private final JobPostActivityRepository jobPostActivityRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Field, NavigableMap<String, PostingList>> postings = new EnumMap<>(Field.class);
+    private final Map<Integer, IndexedJob> jobs = new HashMap<>();
+    private final Map<JobType, IdBitmap> byJobType = new EnumMap<>(JobType.class);
+    private final Map<RemoteType, IdBitmap> byRemote = new EnumMap<>(RemoteType.class);
+    private final Map<Integer, IdBitmap> byOwner = new HashMap<>();
+    // khóa là ngày đăng tính theo số ngày từ epoch (múi giờ hệ thống, giống cách controller tính ngày lọc)
+    private final NavigableMap<Long, IdBitmap> byPostedDay = new TreeMap<>();
+
+    public JobSearchIndex(JobPostActivityRepository jobPostActivityRepository) {
+        this.jobPostActivityRepository = jobPostActivityRepository;
+        for (Field field : Field.values()) {
+            postings.put(field, new TreeMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<IndexedJob> all = jobPostActivityRepository.findAll().stream()
+                .map(JobSearchIndex::toIndexedJob)
+                .toList();
+
+        lock.writeLock().lock();
+        try {
+            jobs.clear();
+            postings.values().forEach(Map::clear);
+            byJobType.clear();
+            byRemote.clear();
+            byOwner.clear();
+            byPostedDay.clear();
+            all.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Thêm hoặc cập nhật job trong index. Nếu đang trong transaction thì chỉ áp dụng sau khi commit.
+     */
+    public void index(JobPostActivity job) {
+        if (job == null || job.getJobPostId() == null) return;
+        IndexedJob indexed = toIndexedJob(job);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                put(indexed);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(int jobPostId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(jobPostId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Một trang jobPostId mới đăng trước, khớp từ khóa/địa điểm và bộ lọc, nằm sau vị trí keyset
+     * (cursorDate, cursorId). {@code types}, {@code remotes} rỗng và {@code since} null nghĩa là không lọc
+     * theo nhóm đó. Các ngày đăng được duyệt lùi từ ngày của cursor và dừng khi đủ {@code limit} job,
+     * nên chi phí tỉ lệ với số job cần cho trang chứ không phải kích thước bảng.
+     */
+    public List<Integer> page(String keyword, String location, Collection<JobType> types,
+                              Collection<RemoteType> remotes, LocalDate since,
+                              Date cursorDate, int cursorId, int limit) {
+        Set<String> keywordTokens = SearchTokenizer.tokenize(keyword);
+        Set<String> locationTokens = SearchTokenizer.tokenize(location);
+
+        lock.readLock().lock();
+        try {
+            IdBitmap filter = intersect(matched(keywordTokens, KEYWORD_FIELDS, locationTokens),
+                    union(byJobType, types), union(byRemote, remotes));
+            return page(filter, since, cursorDate, cursorId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Như {@link #page} nhưng trong phạm vi job của một recruiter; từ khóa chỉ so khớp với title.
+     */
+    public List<Integer> pageOwn(int ownerId, String keyword, String location,
+                                 Date cursorDate, int cursorId, int limit) {
+        Set<String> keywordTokens = SearchTokenizer.tokenize(keyword);
+        Set<String> locationTokens = SearchTokenizer.tokenize(location);
+
+        lock.readLock().lock();
+        try {
+            IdBitmap owned = byOwner.get(ownerId);
+            if (owned == null) return List.of();
+            IdBitmap filter = intersect(owned, matched(keywordTokens, EnumSet.of(Field.TITLE), locationTokens));
+            return page(filter, null, cursorDate, cursorId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Duyệt lùi theo ngày đăng, lấy tối đa limit job thuộc filter (null = mọi job); gọi khi đang giữ read lock
+    private List<Integer> page(IdBitmap filter, LocalDate since, Date cursorDate, int cursorId, int limit) {
+        NavigableMap<Long, IdBitmap> days = byPostedDay;
+        long cursorAt = 0;
+        if (cursorDate != null) {
+            cursorAt = cursorDate.getTime();
+            days = days.headMap(postedDay(cursorAt), true);
+        }
+        if (since != null) days = days.tailMap(since.toEpochDay(), true);
+
+        List<Integer> ids = new ArrayList<>(limit);
+        List<IndexedJob> sameDay = new ArrayList<>();
+        for (IdBitmap day : days.descendingMap().values()) {
+            IdBitmap hits = filter == null ? day : IdBitmap.and(day, filter);
+            if (hits.isEmpty()) continue;
+            sameDay.clear();
+            for (int id : hits.toArray()) {
+                IndexedJob job = jobs.get(id);
+                if (cursorDate == null || job.postedAt() < cursorAt
+                        || (job.postedAt() == cursorAt && id < cursorId)) {
+                    sameDay.add(job);
+                }
+            }
+            sameDay.sort(NEWEST_FIRST);
+            for (IndexedJob job : sameDay) {
+                ids.add(job.jobPostId());
+                if (ids.size() == limit) return ids;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Đếm số job theo từng giá trị jobType, remote và theo ngày đăng, cho cùng điều kiện như {@link #page}.
+     */
+    public FacetCounts facets(String keyword, String location, Collection<JobType> types,
+                              Collection<RemoteType> remotes, LocalDate since) {
+        Set<String> keywordTokens = SearchTokenizer.tokenize(keyword);
+        Set<String> locationTokens = SearchTokenizer.tokenize(location);
+        long today = LocalDate.now().toEpochDay();
+
+        lock.readLock().lock();
+        try {
+            IdBitmap matched = matched(keywordTokens, KEYWORD_FIELDS, locationTokens);
+            IdBitmap typeFilter = union(byJobType, types);
+            IdBitmap remoteFilter = union(byRemote, remotes);
+            IdBitmap dateFilter = null;
+            if (since != null) {
+                dateFilter = IdBitmap.EMPTY;
+                for (IdBitmap day : byPostedDay.tailMap(since.toEpochDay(), true).values()) {
+                    dateFilter = IdBitmap.or(dateFilter, day);
+                }
+            }
+
+            // mỗi nhóm đếm trên tập đã lọc bởi các nhóm còn lại
+            Map<String, Integer> typeCounts = counts(JobType.values(), JobType::getLabel, byJobType,
+                    intersect(matched, remoteFilter, dateFilter));
+            Map<String, Integer> remoteCounts = counts(RemoteType.values(), RemoteType::getLabel, byRemote,
+                    intersect(matched, typeFilter, dateFilter));
+
+            IdBitmap forDate = intersect(matched, typeFilter, remoteFilter);
+            int[] daysAgo = new int[MAX_DAYS_AGO + 1];
+            for (Map.Entry<Long, IdBitmap> day : byPostedDay.tailMap(today - MAX_DAYS_AGO, true).entrySet()) {
+                // ngày đăng trong tương lai vẫn khớp điều kiện postedDate >= ngày lọc nên tính vào hôm nay
+                int ago = (int) Math.max(0, today - day.getKey());
+                daysAgo[ago] += cardinality(day.getValue(), forDate);
+            }
+            int days7 = 0, days30 = 0;
+            for (int i = 0; i <= MAX_DAYS_AGO; i++) {
+                if (i <= 7) days7 += daysAgo[i];
+                days30 += daysAgo[i];
+            }
+            return new FacetCounts(typeCounts, remoteCounts, daysAgo[0], days7, days30);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Job khớp từ khóa và địa điểm; null nếu không có điều kiện nào (mọi job)
+    private IdBitmap matched(Set<String> keywordTokens, Set<Field> keywordFields, Set<String> locationTokens) {
+        if (keywordTokens.isEmpty() && locationTokens.isEmpty()) return null;
+        PostingList matched = null;
+        if (!keywordTokens.isEmpty()) matched = match(keywordTokens, keywordFields);
+        if (!locationTokens.isEmpty() && (matched == null || !matched.isEmpty())) {
+            PostingList byLocation = match(locationTokens, LOCATION_FIELDS);
+            matched = (matched == null) ? byLocation : PostingList.intersect(matched, byLocation);
+        }
+        return IdBitmap.of(matched);
+    }
+
+    // Hợp bitmap của các giá trị được chọn; null nếu không chọn giá trị nào (không lọc)
+    private static <E> IdBitmap union(Map<E, IdBitmap> facet, Collection<E> values) {
+        if (values == null || values.isEmpty()) return null;
+        IdBitmap result = IdBitmap.EMPTY;
+        for (E value : values) {
+            IdBitmap ids = facet.get(value);
+            if (ids != null) result = IdBitmap.or(result, ids);
+        }
+        return result;
+    }
+
+    // Giao các điều kiện khác null; null nếu không có điều kiện nào
+    private static IdBitmap intersect(IdBitmap... filters) {
+        IdBitmap result = null;
+        for (IdBitmap filter : filters) {
+            if (filter != null) result = (result == null) ? filter : IdBitmap.and(result, filter);
+        }
+        return result;
+    }
+
+    // Khóa là nhãn ("Part-Time") để template tra theo giá trị checkbox; giá trị không có job nào đếm 0
+    private static <E> Map<String, Integer> counts(E[] values, Function<E, String> label,
+                                                   Map<E, IdBitmap> facet, IdBitmap filter) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (E value : values) {
+            IdBitmap ids = facet.get(value);
+            counts.put(label.apply(value), ids == null ? 0 : cardinality(ids, filter));
+        }
+        return counts;
+    }
+
+    private static int cardinality(IdBitmap ids, IdBitmap filter) {
+        return filter == null ? ids.cardinality() : IdBitmap.andCardinality(ids, filter);
+    }
+
+    // Giao các token truy vấn; mỗi token là hợp các posting có tiền tố trùng trên các field cho trước
+    private PostingList match(Set<String> tokens, Set<Field> fields) {
+        PostingList result = null;
+        for (String token : tokens) {
+            PostingList any = PostingList.EMPTY;
+            for (Field field : fields) {
+                for (PostingList list : postings.get(field).subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                    any = PostingList.union(any, list);
+                }
+            }
+            result = (result == null) ? any : PostingList.intersect(result, any);
+            if (result.isEmpty()) break;
+        }
+        return result == null ? PostingList.EMPTY : result;
+    }
+
+    private void put(IndexedJob job) {
+        delete(job.jobPostId());
+        jobs.put(job.jobPostId(), job);
+        if (job.jobType() != null) byJobType.computeIfAbsent(job.jobType(), t -> new IdBitmap()).add(job.jobPostId());
+        if (job.remote() != null) byRemote.computeIfAbsent(job.remote(), r -> new IdBitmap()).add(job.jobPostId());
+        byOwner.computeIfAbsent(job.ownerId(), o -> new IdBitmap()).add(job.jobPostId());
+        byPostedDay.computeIfAbsent(job.postedDay(), d -> new IdBitmap()).add(job.jobPostId());
+        job.tokens().forEach((field, tokens) -> {
+            NavigableMap<String, PostingList> fieldPostings = postings.get(field);
+            for (String token : tokens) {
+                fieldPostings.computeIfAbsent(token, t -> new PostingList()).add(job.jobPostId());
+            }
+        });
+    }
+
+    private void delete(int jobPostId) {
+        IndexedJob old = jobs.remove(jobPostId);
+        if (old == null) return;
+        removeId(byJobType, old.jobType(), jobPostId);
+        removeId(byRemote, old.remote(), jobPostId);
+        removeId(byOwner, old.ownerId(), jobPostId);
+        removeId(byPostedDay, old.postedDay(), jobPostId);
+        old.tokens().forEach((field, tokens) -> {
+            NavigableMap<String, PostingList> fieldPostings = postings.get(field);
+            for (String token : tokens) {
+                PostingList list = fieldPostings.get(token);
+                if (list == null) continue;
+                list.remove(jobPostId);
+                if (list.isEmpty()) fieldPostings.remove(token);
+            }
+        });
+    }
+
+    private static <K> void removeId(Map<K, IdBitmap> facet, K key, int jobPostId) {
+        if (key == null) return;
+        IdBitmap ids = facet.get(key);
+        if (ids == null) return;
+        ids.remove(jobPostId);
+        if (ids.isEmpty()) facet.remove(key);
+    }
+
+    private static long postedDay(long postedAt) {
+        return Instant.ofEpochMilli(postedAt).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    private static IndexedJob toIndexedJob(JobPostActivity job) {
+        Map<Field, Set<String>> tokens = new EnumMap<>(Field.class);
+        tokens.put(Field.TITLE, SearchTokenizer.tokenize(job.getJobTitle()));
+
+        JobCompany company = job.getJobCompanyId();
+        tokens.put(Field.COMPANY, company == null ? Set.of() : SearchTokenizer.tokenize(company.getName()));
+
+        JobLocation location = job.getJobLocationId();
+        tokens.put(Field.LOCATION, location == null ? Set.of()
+                : SearchTokenizer.tokenize(location.getCity(), location.getState(), location.getCountry()));
+
+        int ownerId = job.getPostedById() == null ? 0 : job.getPostedById().getUserId();
+        // postedDate NOT NULL nên mọi job đều tới được qua cursor
+        long postedAt = job.getPostedDate().getTime();
+        return new IndexedJob(job.getJobPostId(), ownerId, postedAt, postedDay(postedAt),
+                job.getJobType(), job.getRemote(), tokens);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.luv2code.jobportal.services.search;
+
+import java.util.Arrays;
+
+/**
+ * Danh sách jobPostId đã sắp xếp tăng dần, dùng làm posting list của {@link JobSearchIndex}.
+ */
+final class PostingList {
+
+    static final PostingList EMPTY = new PostingList(new int[0], 0);
+
+    private int[] ids;
+    private int size;
+
+    PostingList() {
+        this(new int[4], 0);
+    }
+
+    private PostingList(int[] ids, int size) {
+        this.ids = ids;
+        this.size = size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int get(int index) {
+        return ids[index];
+    }
+
+    void add(int id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) return;
+        pos = -pos - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        ids[pos] = id;
+        size++;
+    }
+
+    void remove(int id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) return;
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+    }
+
+    static PostingList intersect(PostingList a, PostingList b) {
+        int[] out = new int[Math.min(a.size, b.size)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.size && j < b.size) {
+            int x = a.ids[i], y = b.ids[j];
+            if (x == y) {
+                out[n++] = x;
+                i++;
+                j++;
+            } else if (x < y) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return new PostingList(out, n);
+    }
+
+    static PostingList union(PostingList a, PostingList b) {
+        if (a.isEmpty()) return b;
+        if (b.isEmpty()) return a;
+        int[] out = new int[a.size + b.size];
+        int i = 0, j = 0, n = 0;
+        while (i < a.size && j < b.size) {
+            int x = a.ids[i], y = b.ids[j];
+            if (x == y) {
+                out[n++] = x;
+                i++;
+                j++;
+            } else if (x < y) {
+                out[n++] = x;
+                i++;
+            } else {
+                out[n++] = y;
+                j++;
+            }
+        }
+        while (i < a.size) out[n++] = a.ids[i++];
+        while (j < b.size) out[n++] = b.ids[j++];
+        return new PostingList(out, n);
+    }
+}
@@ -0,0 +1,56 @@
+package com.luv2code.jobportal.util;
+
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Giá trị lưu trong cột file (profilePhoto, resume, logo) cho file nằm trong kho blob ({@code services.files.BlobStore}): {@code <sha256>/<tên gốc>}.
+ * Giá trị cũ chỉ có tên file vẫn trỏ tới photos/{loại}/{id}/{tên} như trước, {@link #parse} trả về null cho chúng.
+ */
+public record BlobRef(String key, String name) {
+
+    // cột VARCHAR(255): 64 ký tự khóa + '/' + tên
+    private static final int MAX_NAME_LENGTH = 150;
+
+    public static BlobRef of(String key, String name) {
+        if (name.length() > MAX_NAME_LENGTH) {
+            // giữ phần mở rộng để Content-Type vẫn đúng
+            int dot = name.lastIndexOf('.');
+            String extension = dot >= 0 && name.length() - dot <= 10 ? name.substring(dot) : "";
+            name = name.substring(0, MAX_NAME_LENGTH - extension.length()) + extension;
+        }
+        return new BlobRef(key, name);
+    }
+
+    public static BlobRef parse(String value) {
+        if (value == null || value.length() < 66 || value.charAt(64) != '/') return null;
+        String key = value.substring(0, 64);
+        return isKey(key) ? new BlobRef(key, value.substring(65)) : null;
+    }
+
+    // Tên để hiển thị/tải xuống: bỏ phần khóa nếu có
+    public static String displayName(String value) {
+        BlobRef ref = parse(value);
+        return ref != null ? ref.name() : value;
+    }
+
+    public static boolean isKey(String key) {
+        if (key == null || key.length() != 64) return false;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) return false;
+        }
+        return true;
+    }
+
+    // URL ảnh trong kho blob, cache được vĩnh viễn vì nội dung không bao giờ đổi
+    public String url() {
+        return "/blobs/" + key + "/" + UriUtils.encodePathSegment(name, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return key + "/" + name;
+    }
+}
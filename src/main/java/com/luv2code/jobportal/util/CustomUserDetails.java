@@ -18,6 +18,11 @@ public class CustomUserDetails implements UserDetails {
         this.user = user;
     }
 
+    // Dùng để tra profile theo khóa chính thay vì tìm lại theo email ở mỗi request
+    public int getUserId() {
+        return user.getUserId();
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         UsersType usersType = user.getUserTypeId();
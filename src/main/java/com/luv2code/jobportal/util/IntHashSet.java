@@ -0,0 +1,92 @@
+package com.luv2code.jobportal.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Tập hợp int dùng open addressing (linear probing), không boxing.
+ * Không hỗ trợ xóa; không thread-safe.
+ */
+public class IntHashSet {
+
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private int[] slots;
+    private int size;
+    private boolean containsEmptyKey;
+
+    public IntHashSet() {
+        this(16);
+    }
+
+    public IntHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+    }
+
+    public static IntHashSet of(Collection<Integer> values) {
+        IntHashSet set = new IntHashSet(values.size());
+        for (Integer value : values) {
+            if (value != null) set.add(value);
+        }
+        return set;
+    }
+
+    public boolean add(int value) {
+        if (value == EMPTY) {
+            boolean added = !containsEmptyKey;
+            containsEmptyKey = true;
+            if (added) size++;
+            return added;
+        }
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+        while (slots[i] != EMPTY) {
+            if (slots[i] == value) return false;
+            i = (i + 1) & mask;
+        }
+        slots[i] = value;
+        size++;
+        if (size * 2 > slots.length) rehash();
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value == EMPTY) return containsEmptyKey;
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+        while (slots[i] != EMPTY) {
+            if (slots[i] == value) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void rehash() {
+        int[] old = slots;
+        slots = new int[old.length * 2];
+        Arrays.fill(slots, EMPTY);
+        int mask = slots.length - 1;
+        for (int value : old) {
+            if (value == EMPTY) continue;
+            int i = mix(value) & mask;
+            while (slots[i] != EMPTY) i = (i + 1) & mask;
+            slots[i] = value;
+        }
+    }
+
+    // id liên tiếp dễ dồn cụm khi probing, trộn bit trước khi lấy chỉ số
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,13 @@
+-- Kho file đánh địa chỉ theo nội dung (BlobStore). Chạy một lần trên DB hiện có.
+
+CREATE TABLE IF NOT EXISTS stored_blob (
+    sha256     VARCHAR(64) NOT NULL,
+    size       BIGINT      NOT NULL,
+    ref_count  INT         NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (sha256)
+);
+
+-- Cột file giờ chứa "<sha256>/<tên gốc>" thay vì chỉ tên file
+ALTER TABLE job_seeker_profile MODIFY profile_photo VARCHAR(255);
+ALTER TABLE recruiter_profile MODIFY profile_photo VARCHAR(255);
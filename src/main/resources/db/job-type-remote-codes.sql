@@ -0,0 +1,31 @@
+-- jobType/remote chuyển từ chuỗi tự do sang mã TINYINT của JobType/RemoteType. Chạy một lần trên DB hiện có.
+-- So khớp không phân biệt hoa thường như JobType.fromLabel ("Full-time" của form cũ vẫn nhận);
+-- giá trị rỗng hoặc không nhận ra thành NULL.
+
+ALTER TABLE job_post_activity
+    ADD COLUMN job_type_code TINYINT NULL,
+    ADD COLUMN remote_code TINYINT NULL;
+
+UPDATE job_post_activity
+SET job_type_code = CASE LOWER(TRIM(job_type))
+                        WHEN 'full-time' THEN 1
+                        WHEN 'part-time' THEN 2
+                        WHEN 'freelance' THEN 3
+                        WHEN 'internship' THEN 4
+                    END,
+    remote_code = CASE LOWER(TRIM(remote))
+                      WHEN 'remote-only' THEN 1
+                      WHEN 'office-only' THEN 2
+                      WHEN 'partial-remote' THEN 3
+                  END;
+
+ALTER TABLE job_post_activity
+    DROP COLUMN job_type,
+    DROP COLUMN remote;
+
+ALTER TABLE job_post_activity
+    RENAME COLUMN job_type_code TO job_type,
+    RENAME COLUMN remote_code TO remote;
+
+-- Lọc theo hình thức/địa điểm làm việc rồi sắp theo ngày đăng đi thẳng trên index
+CREATE INDEX idx_job_post_type_remote_date ON job_post_activity (job_type, remote, posted_date);
@@ -0,0 +1,12 @@
+-- posted_date bắt buộc: trang danh sách và JobSearchIndex phân trang theo keyset (posted_date, job_post_id),
+-- job không có ngày đăng không bao giờ tới được sau trang đầu. Chạy một lần trên DB hiện có.
+-- Job cũ chưa có ngày đăng lấy ngày đăng sớm nhất trong bảng, nên vẫn nằm cuối danh sách như trước.
+
+SET @oldest = (SELECT COALESCE(MIN(posted_date), NOW()) FROM job_post_activity);
+
+UPDATE job_post_activity
+SET posted_date = @oldest
+WHERE posted_date IS NULL;
+
+ALTER TABLE job_post_activity
+    MODIFY posted_date DATETIME(6) NOT NULL;
@@ -0,0 +1,177 @@
+package com.luv2code.jobportal.repository;
+
+import com.luv2code.jobportal.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mỗi danh sách job chỉ được tốn đúng một câu SELECT, bất kể số dòng trả về.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class JobListQueryCountTests {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JobPostActivityRepository jobPostActivityRepository;
+
+    @Autowired
+    private JobSeekerApplyRepository jobSeekerApplyRepository;
+
+    @Autowired
+    private JobSeekerSaveRepository jobSeekerSaveRepository;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20})
+    void dashboardPageIsSingleStatement(int jobCount) {
+        seed(jobCount);
+        Statistics statistics = freshStatistics();
+
+        List<JobListItem> page = jobPostActivityRepository.findPage(null, 0, Limit.of(21));
+
+        assertEquals(jobCount, page.size());
+        assertEquals("Company 0", page.get(page.size() - 1).companyName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20})
+    void searchPageIsSingleStatement(int jobCount) {
+        seed(jobCount);
+        List<Integer> ids = jobPostActivityRepository.findAll().stream().map(JobPostActivity::getJobPostId).toList();
+        Statistics statistics = freshStatistics();
+
+        List<JobListItem> page = jobPostActivityRepository.findPageByIds(ids);
+
+        assertEquals(jobCount, page.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20})
+    void appliedAndSavedJobsAreSingleStatement(int jobCount) {
+        JobSeekerProfile seeker = seed(jobCount);
+        Statistics statistics = freshStatistics();
+
+        List<JobListItem> applied = jobSeekerApplyRepository.findJobItemsByUserAccountId(seeker.getUserAccountId());
+        assertEquals(jobCount, applied.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        List<JobListItem> saved = jobSeekerSaveRepository.findJobItemsByUserAccountId(seeker.getUserAccountId());
+        assertEquals(jobCount, saved.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20})
+    void applicantListIsSingleStatement(int seekerCount) {
+        JobPostActivity job = seedApplicants(seekerCount);
+        Statistics statistics = freshStatistics();
+
+        List<JobSeekerApply> applicants = jobSeekerApplyRepository.findByJob(job);
+        for (JobSeekerApply apply : applicants) {
+            apply.getUserId().getFirstName();
+            apply.getUserId().getUserId().getUserTypeId().getUserTypeName();
+        }
+
+        assertEquals(seekerCount, applicants.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20})
+    void rankedApplicantPageIsSingleStatement(int seekerCount) {
+        JobPostActivity job = seedApplicants(seekerCount);
+        List<Integer> seekerIds;
+        try (Stream<Integer> ids = jobSeekerApplyRepository.streamApplicantIds(job.getJobPostId())) {
+            seekerIds = ids.toList();
+        }
+        assertEquals(seekerCount, seekerIds.size());
+        Statistics statistics = freshStatistics();
+
+        List<JobSeekerApply> applicants = jobSeekerApplyRepository.findByJobAndUserIdUserAccountIdIn(job, seekerIds);
+        for (JobSeekerApply apply : applicants) {
+            apply.getUserId().getFirstName();
+            apply.getUserId().getUserId().getUserTypeId().getUserTypeName();
+        }
+
+        assertEquals(seekerCount, applicants.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    // Mỗi job có recruiter, công ty, địa điểm riêng để N+1 (nếu có) hiện rõ theo số dòng
+    private JobSeekerProfile seed(int jobCount) {
+        UsersType recruiterType = em.persist(new UsersType(0, "Recruiter", null));
+        UsersType seekerType = em.persist(new UsersType(0, "Job Seeker", null));
+        JobSeekerProfile seeker = newSeeker(seekerType, 0);
+
+        for (int i = 0; i < jobCount; i++) {
+            JobPostActivity job = newJob(recruiterType, i);
+            em.persist(new JobSeekerApply(null, seeker, job, new Date(), null));
+            em.persist(new JobSeekerSave(seeker, job));
+        }
+        em.flush();
+        em.clear();
+        return seeker;
+    }
+
+    private JobPostActivity seedApplicants(int seekerCount) {
+        UsersType recruiterType = em.persist(new UsersType(0, "Recruiter", null));
+        UsersType seekerType = em.persist(new UsersType(0, "Job Seeker", null));
+        JobPostActivity job = newJob(recruiterType, 0);
+
+        for (int i = 0; i < seekerCount; i++) {
+            // mỗi ứng viên một loại tài khoản riêng, để UsersType cũng không trùng trong persistence context
+            UsersType type = i == 0 ? seekerType : em.persist(new UsersType(0, "Job Seeker " + i, null));
+            em.persist(new JobSeekerApply(null, newSeeker(type, i), job, new Date(), null));
+        }
+        em.flush();
+        em.clear();
+        return job;
+    }
+
+    private JobPostActivity newJob(UsersType recruiterType, int i) {
+        Users recruiter = em.persist(new Users(0, "recruiter" + i + "@test.local", "x", true, new Date(), recruiterType));
+        JobPostActivity job = new JobPostActivity();
+        job.setPostedById(recruiter);
+        job.setJobLocationId(em.persist(new JobLocation(null, "City " + i, "State " + i, "VN")));
+        job.setJobCompanyId(em.persist(new JobCompany(null, "Company " + i, "logo.png")));
+        job.setJobTitle("Job " + i);
+        job.setJobType(JobType.FULL_TIME);
+        job.setRemote(RemoteType.REMOTE_ONLY);
+        job.setPostedDate(new Date(1_700_000_000_000L + i * 60_000L));
+        return em.persist(job);
+    }
+
+    private JobSeekerProfile newSeeker(UsersType seekerType, int i) {
+        Users user = em.persist(new Users(0, "seeker" + i + "@test.local", "x", true, new Date(), seekerType));
+        JobSeekerProfile profile = new JobSeekerProfile(user);
+        profile.setFirstName("Seeker");
+        profile.setLastName(String.valueOf(i));
+        return em.persist(profile);
+    }
+
+    private Statistics freshStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,111 @@
+package com.luv2code.jobportal.services.files;
+
+import com.luv2code.jobportal.entity.StoredBlob;
+import com.luv2code.jobportal.repository.StoredBlobRepository;
+import com.luv2code.jobportal.util.BlobRef;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GC kho blob chạy song song với upload lại cùng nội dung: sau mỗi lượt, blob đang được tham chiếu phải còn file.
+ */
+@DataJpaTest(properties = "jobportal.blobs.dir=target/test-blobs")
+@Import({BlobService.class, LocalBlobStore.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BlobGarbageCollectionTests {
+
+    private static final byte[] CONTENT = "cv của ứng viên".getBytes();
+
+    @Autowired
+    private BlobService blobService;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private StoredBlobRepository storedBlobRepository;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        storedBlobRepository.deleteAll();
+    }
+
+    @Test
+    void reuploadDuringGcKeepsReferencedBlob() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            // blob cũ hơn gc-grace, nửa số lượt đã có dòng refCount = 0 (vừa release), nửa còn lại chưa có dòng
+            String key = blobStore.put(spool());
+            storedBlobRepository.deleteAll();
+            if (round % 2 == 0) {
+                storedBlobRepository.insertReferenced(key, CONTENT.length, new Date());
+                storedBlobRepository.decrement(key);
+            }
+            Files.setLastModifiedTime(blobStore.locate(key), FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+            CountDownLatch start = new CountDownLatch(1);
+            Future<Integer> gc = executor.submit(() -> {
+                start.await();
+                return blobService.collectGarbage();
+            });
+            Future<String> upload = executor.submit(() -> {
+                start.await();
+                return reupload();
+            });
+            start.countDown();
+            gc.get(30, TimeUnit.SECONDS);
+            String ref = upload.get(30, TimeUnit.SECONDS);
+
+            StoredBlob blob = storedBlobRepository.findById(key).orElseThrow();
+            assertEquals(1, blob.getRefCount(), "round " + round);
+            assertNotNull(blobService.locate(BlobRef.parse(ref)), "round " + round);
+        }
+    }
+
+    @Test
+    void unreferencedOldBlobIsCollected() throws Exception {
+        String key = blobStore.put(spool());
+        Files.setLastModifiedTime(blobStore.locate(key), FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+        assertEquals(1, blobService.collectGarbage());
+        assertNull(blobStore.locate(key));
+        assertTrue(storedBlobRepository.findById(key).isEmpty());
+    }
+
+    // như UploadPipeline: put một lần, bước cập nhật DB được thử lại khi lỗi
+    private String reupload() throws IOException {
+        String ref = blobService.store(spool(), "cv.pdf");
+        for (int attempt = 1; ; attempt++) {
+            try {
+                blobService.replace(null, ref);
+                return ref;
+            } catch (RuntimeException e) {
+                if (attempt >= 3) throw e;
+            }
+        }
+    }
+
+    private static Path spool() throws IOException {
+        Path file = Files.createTempFile("upload", ".part");
+        Files.write(file, CONTENT);
+        return file;
+    }
+}
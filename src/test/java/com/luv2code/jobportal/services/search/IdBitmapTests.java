@@ -0,0 +1,134 @@
+package com.luv2code.jobportal.services.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * So {@link IdBitmap} với một {@link TreeSet} làm đáp án, quanh ngưỡng mảng/bitmap (4096) và qua nhiều khối 65536 id.
+ */
+class IdBitmapTests {
+
+    @Test
+    void crossesArrayLimitBothWays() {
+        IdBitmap bitmap = new IdBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+        // 4096 phần tử vẫn là mảng, phần tử thứ 4097 chuyển sang bitmap
+        for (int id = 0; id < 4096 * 2; id += 2) add(bitmap, expected, id);
+        assertContent(bitmap, expected);
+        add(bitmap, expected, 1);
+        assertContent(bitmap, expected);
+        add(bitmap, expected, 1);
+        assertContent(bitmap, expected);
+
+        // xóa về lại dưới ngưỡng thì quay về mảng, vẫn đúng nội dung
+        remove(bitmap, expected, 1);
+        remove(bitmap, expected, 0);
+        assertContent(bitmap, expected);
+        add(bitmap, expected, 3);
+        remove(bitmap, expected, 5);
+        assertContent(bitmap, expected);
+    }
+
+    @Test
+    void spansSeveralBlocks() {
+        IdBitmap bitmap = new IdBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+        int[] ids = {70_000, 5, 65_535, 65_536, 1 << 20, 65_537, 131_071, 0, Integer.MAX_VALUE};
+        for (int id : ids) add(bitmap, expected, id);
+        assertContent(bitmap, expected);
+        assertFalse(bitmap.contains(65_538));
+        assertFalse(bitmap.contains(1 << 21));
+    }
+
+    @Test
+    void removingEverythingLeavesEmpty() {
+        IdBitmap bitmap = new IdBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int id = 0; id < 10_000; id++) add(bitmap, expected, id * 7);
+        for (int id = 0; id < 10_000; id++) remove(bitmap, expected, id * 7);
+        assertTrue(bitmap.isEmpty());
+        assertEquals(0, bitmap.cardinality());
+        assertEquals(0, bitmap.toArray().length);
+        assertFalse(bitmap.contains(0));
+
+        add(bitmap, expected, 42);
+        assertContent(bitmap, expected);
+    }
+
+    @Test
+    void andOrMatchSetOperations() {
+        Random random = new Random(11);
+        // thưa/dày khác nhau để gặp đủ các cặp mảng-mảng, mảng-bitmap, bitmap-bitmap
+        int[] densities = {3, 40, 2000, 30_000};
+        for (int da : densities) {
+            for (int db : densities) {
+                IdBitmap a = new IdBitmap(), b = new IdBitmap();
+                TreeSet<Integer> sa = new TreeSet<>(), sb = new TreeSet<>();
+                fill(random, a, sa, da);
+                fill(random, b, sb, db);
+
+                TreeSet<Integer> and = new TreeSet<>(sa);
+                and.retainAll(sb);
+                TreeSet<Integer> or = new TreeSet<>(sa);
+                or.addAll(sb);
+
+                assertContent(IdBitmap.and(a, b), and);
+                assertEquals(and.size(), IdBitmap.andCardinality(a, b));
+                assertContent(IdBitmap.or(a, b), or);
+                // đầu vào không bị sửa
+                assertContent(a, sa);
+                assertContent(b, sb);
+            }
+        }
+    }
+
+    @Test
+    void orResultIsIndependentOfInputs() {
+        IdBitmap a = new IdBitmap(), b = new IdBitmap();
+        TreeSet<Integer> sa = new TreeSet<>(), sb = new TreeSet<>();
+        // khối chỉ có ở a (mảng), chỉ có ở b (bitmap) và khối chung
+        for (int id = 0; id < 100; id++) add(a, sa, id);
+        for (int id = 0; id < 5000; id++) add(b, sb, 65_536 + id);
+        add(a, sa, 200_000);
+        add(b, sb, 200_001);
+
+        IdBitmap union = IdBitmap.or(a, b);
+        IdBitmap copy = IdBitmap.or(IdBitmap.EMPTY, a);
+        for (int id = 0; id < 5000; id++) {
+            union.remove(id);
+            union.remove(65_536 + id);
+            copy.add(300_000 + id);
+        }
+        union.add(7_000_000);
+
+        assertContent(a, sa);
+        assertContent(b, sb);
+        assertTrue(IdBitmap.EMPTY.isEmpty());
+        assertEquals(3, union.cardinality());
+    }
+
+    private static void fill(Random random, IdBitmap bitmap, TreeSet<Integer> expected, int count) {
+        for (int i = 0; i < count; i++) add(bitmap, expected, random.nextInt(3 * 65_536));
+    }
+
+    private static void add(IdBitmap bitmap, TreeSet<Integer> expected, int id) {
+        bitmap.add(id);
+        expected.add(id);
+    }
+
+    private static void remove(IdBitmap bitmap, TreeSet<Integer> expected, int id) {
+        bitmap.remove(id);
+        expected.remove(id);
+    }
+
+    private static void assertContent(IdBitmap bitmap, TreeSet<Integer> expected) {
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), bitmap.toArray());
+        assertEquals(expected.size(), bitmap.cardinality());
+        assertEquals(expected.isEmpty(), bitmap.isEmpty());
+        for (int id : expected) assertTrue(bitmap.contains(id), "contains " + id);
+    }
+}
@@ -0,0 +1,230 @@
+package com.luv2code.jobportal.services.search;
+
+import com.luv2code.jobportal.entity.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Kiểm tra {@link JobSearchIndex} (cùng {@link PostingList}, {@link SearchTokenizer}) ở mức index, không cần DB.
+ */
+class JobSearchIndexTests {
+
+    private static final long BASE = 1_700_000_000_000L;
+    private static final long HOUR = 3_600_000L;
+
+    private final JobSearchIndex index = new JobSearchIndex(null);
+
+    // transaction giả: chỉ để TransactionSynchronization chạy như khi có transaction thật
+    private final TransactionTemplate transactions = new TransactionTemplate(new AbstractPlatformTransactionManager() {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    });
+
+    @Test
+    void tokenizerDropsVietnameseMarksAndSeparators() {
+        assertEquals(List.of("lap", "trinh", "vien", "da", "nang", "c"),
+                List.copyOf(SearchTokenizer.tokenize("Lập trình-viên  Đà Nẵng", "C++")));
+        assertTrue(SearchTokenizer.tokenize(" ", null).isEmpty());
+    }
+
+    @Test
+    void postingListsStaySortedAndCombine() {
+        PostingList a = new PostingList();
+        PostingList b = new PostingList();
+        for (int id : new int[]{9, 3, 7, 3, 1}) a.add(id);
+        for (int id : new int[]{7, 2, 9, 11}) b.add(id);
+        a.remove(1);
+        a.remove(42);
+
+        assertEquals(List.of(3, 7, 9), ids(a));
+        assertEquals(List.of(7, 9), ids(PostingList.intersect(a, b)));
+        assertEquals(List.of(2, 3, 7, 9, 11), ids(PostingList.union(a, b)));
+    }
+
+    @Test
+    void keywordAndLocationMatchByPrefix() {
+        index.index(job(1, 10, "Java Developer", "Acme", "Hà Nội", BASE));
+        index.index(job(2, 10, "JavaScript Engineer", "Beta", "Đà Nẵng", BASE + HOUR));
+        index.index(job(3, 10, "Python Developer", "Javaco", "Hà Nội", BASE + 2 * HOUR));
+        index.index(job(4, 10, "Tester", "Gamma", "Hải Phòng", BASE + 3 * HOUR));
+
+        assertEquals(List.of(3, 2, 1), search("jav", null));
+        // mỗi token khớp title hoặc công ty: job 3 khớp "java" qua công ty Javaco
+        assertEquals(List.of(3, 1), search("java dev", null));
+        assertEquals(List.of(2), search("javas eng", null));
+        assertEquals(List.of(3, 1), search("developer", "ha noi"));
+        assertEquals(List.of(4, 3, 1), search(null, "h"));
+        assertEquals(List.of(), search("rust", null));
+    }
+
+    @Test
+    void editAndDeleteReplaceIndexedValues() {
+        index.index(job(1, 10, "Java Developer", "Acme", "Hà Nội", BASE));
+        index.index(job(2, 10, "Java Tester", "Acme", "Hà Nội", BASE + HOUR));
+
+        JobPostActivity edited = job(1, 10, "Kotlin Developer", "Acme", "Huế", BASE);
+        edited.setJobType(JobType.PART_TIME);
+        index.index(edited);
+
+        assertEquals(List.of(2), search("java", null));
+        assertEquals(List.of(1), search("kotlin", "hue"));
+        assertEquals(List.of(), search(null, "ha noi huế"));
+        FacetCounts facets = index.facets(null, null, null, null, null);
+        assertEquals(1, facets.jobType().get("Part-Time"));
+        assertEquals(1, facets.jobType().get("Full-Time"));
+
+        index.remove(2);
+        assertEquals(List.of(1), search(null, null));
+        assertEquals(0, index.facets(null, null, null, null, null).jobType().get("Full-Time"));
+        assertEquals(List.of(), index.pageOwn(10, "java", null, null, 0, 20));
+    }
+
+    @Test
+    void changesApplyOnlyAfterCommit() {
+        transactions.executeWithoutResult(status -> {
+            index.index(job(1, 10, "Java Developer", "Acme", "Hà Nội", BASE));
+            assertEquals(List.of(), search("java", null));
+        });
+        assertEquals(List.of(1), search("java", null));
+
+        transactions.executeWithoutResult(status -> {
+            index.index(job(2, 10, "Java Tester", "Acme", "Hà Nội", BASE + HOUR));
+            index.remove(1);
+            status.setRollbackOnly();
+        });
+        assertEquals(List.of(1), search("java", null));
+
+        transactions.executeWithoutResult(status -> index.remove(1));
+        assertEquals(List.of(), search("java", null));
+    }
+
+    @Test
+    void keysetPagingCrossesDaysAndBreaksTiesById() {
+        Map<Integer, Date> postedAt = new HashMap<>();
+        List<Integer> expected = new ArrayList<>();
+        // 5 ngày, mỗi ngày 3 mốc giờ, mỗi mốc 3 job cùng thời điểm
+        int id = 1;
+        for (int day = 0; day < 5; day++) {
+            for (int slot = 0; slot < 3; slot++) {
+                for (int k = 0; k < 3; k++, id++) {
+                    long at = BASE + day * 24 * HOUR + slot * HOUR;
+                    index.index(job(id, 10, "Job " + id, "Acme", "Hà Nội", at));
+                    postedAt.put(id, new Date(at));
+                    expected.add(id);
+                }
+            }
+        }
+        expected.sort(Comparator.comparing((Integer i) -> postedAt.get(i)).thenComparing(i -> i).reversed());
+
+        for (int limit : new int[]{1, 4, 7, 9}) {
+            List<Integer> walked = new ArrayList<>();
+            Date cursorDate = null;
+            int cursorId = 0;
+            while (true) {
+                List<Integer> page = index.page(null, null, null, null, null, cursorDate, cursorId, limit);
+                assertTrue(page.size() <= limit);
+                walked.addAll(page);
+                if (page.size() < limit) break;
+                cursorId = page.get(page.size() - 1);
+                cursorDate = postedAt.get(cursorId);
+            }
+            assertEquals(expected, walked, "limit " + limit);
+        }
+    }
+
+    @Test
+    void recruiterPagesOnlyTheirOwnJobs() {
+        for (int id = 1; id <= 30; id++) {
+            index.index(job(id, id % 3 == 0 ? 20 : 10, "Java " + id, "Acme", "Hà Nội", BASE + id * HOUR));
+        }
+
+        List<Integer> first = index.pageOwn(20, "java", null, null, 0, 4);
+        assertEquals(List.of(30, 27, 24, 21), first);
+        List<Integer> next = index.pageOwn(20, "java", null, new Date(BASE + 21 * HOUR), 21, 4);
+        assertEquals(List.of(18, 15, 12, 9), next);
+        // công ty không thuộc phạm vi từ khóa của recruiter
+        assertEquals(List.of(), index.pageOwn(20, "acme", null, null, 0, 4));
+        assertEquals(List.of(), index.pageOwn(99, null, null, null, 0, 4));
+    }
+
+    @Test
+    void facetCountsMatchFilteredPages() {
+        Random random = new Random(7);
+        LocalDate today = LocalDate.now();
+        for (int id = 1; id <= 300; id++) {
+            LocalDate day = today.minusDays(random.nextInt(40));
+            long at = day.atTime(random.nextInt(24), random.nextInt(60)).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            JobPostActivity job = job(id, 10, random.nextBoolean() ? "Java Developer" : "Python Developer",
+                    "Acme", random.nextBoolean() ? "Hà Nội" : "Huế", at);
+            job.setJobType(JobType.values()[random.nextInt(JobType.values().length)]);
+            job.setRemote(RemoteType.values()[random.nextInt(RemoteType.values().length)]);
+            index.index(job);
+        }
+
+        List<JobType> types = List.of(JobType.FULL_TIME, JobType.INTERNSHIP);
+        List<RemoteType> remotes = List.of(RemoteType.OFFICE_ONLY);
+        LocalDate since = today.minusDays(30);
+        FacetCounts facets = index.facets("java", "ha", types, remotes, since);
+
+        for (JobType type : JobType.values()) {
+            assertEquals(index.page("java", "ha", List.of(type), remotes, since, null, 0, 1000).size(),
+                    facets.jobType().get(type.getLabel()), type.getLabel());
+        }
+        for (RemoteType remote : RemoteType.values()) {
+            assertEquals(index.page("java", "ha", types, List.of(remote), since, null, 0, 1000).size(),
+                    facets.remote().get(remote.getLabel()), remote.getLabel());
+        }
+        assertEquals(index.page("java", "ha", types, remotes, today, null, 0, 1000).size(), facets.today());
+        assertEquals(index.page("java", "ha", types, remotes, today.minusDays(7), null, 0, 1000).size(), facets.days7());
+        assertEquals(index.page("java", "ha", types, remotes, today.minusDays(30), null, 0, 1000).size(), facets.days30());
+    }
+
+    private List<Integer> search(String keyword, String location) {
+        return index.page(keyword, location, null, null, null, null, 0, 1000);
+    }
+
+    private static List<Integer> ids(PostingList list) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) ids.add(list.get(i));
+        return ids;
+    }
+
+    private static JobPostActivity job(int id, int ownerId, String title, String company, String city, long postedAt) {
+        Users owner = new Users();
+        owner.setUserId(ownerId);
+        JobPostActivity job = new JobPostActivity();
+        job.setJobPostId(id);
+        job.setPostedById(owner);
+        job.setJobTitle(title);
+        job.setJobCompanyId(new JobCompany(id, company, null));
+        job.setJobLocationId(new JobLocation(id, city, null, "Việt Nam"));
+        job.setJobType(JobType.FULL_TIME);
+        job.setRemote(RemoteType.REMOTE_ONLY);
+        job.setPostedDate(new Date(postedAt));
+        return job;
+    }
+}